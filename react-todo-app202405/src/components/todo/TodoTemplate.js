@@ -41,7 +41,8 @@ const TodoTemplate = () => {
 
     handleRequest(
       () => axiosInstance.post(API_BASE_URL, newTodo),
-      (data) => setTodos(data.todos),
+      // 서버는 전체 목록 대신 방금 등록된 할 일 하나만 응답함
+      (data) => setTodos((prev) => [...prev, data.todo]),
       onLogout,
       redirection,
     );
@@ -51,7 +52,7 @@ const TodoTemplate = () => {
   const removeTodo = async (id) => {
     handleRequest(
       () => axiosInstance.delete(`${API_BASE_URL}/${id}`),
-      (data) => setTodos(data.todos),
+      (data) => setTodos((prev) => prev.filter((todo) => todo.id !== data.todo.id)),
       onLogout,
       redirection,
     );
@@ -61,7 +62,10 @@ const TodoTemplate = () => {
   const checkTodo = (id, done) => {
     handleRequest(
       () => axiosInstance.patch(API_BASE_URL, { id, done: !done }),
-      (data) => setTodos(data.todos),
+      (data) =>
+        setTodos((prev) =>
+          prev.map((todo) => (todo.id === data.todo.id ? data.todo : todo)),
+        ),
       onLogout,
       redirection,
     );
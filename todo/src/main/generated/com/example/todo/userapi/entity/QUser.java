@@ -31,10 +31,10 @@ public class QUser extends EntityPathBase<User> {
 
     public final StringPath profileImage = createString("profileImage");
 
-    public final StringPath refreshToken = createString("refreshToken");
-
     public final DateTimePath<java.util.Date> refreshTokenExpiryDate = createDateTime("refreshTokenExpiryDate", java.util.Date.class);
 
+    public final StringPath refreshTokenHash = createString("refreshTokenHash");
+
     public final EnumPath<Role> role = createEnum("role", Role.class);
 
     public final StringPath userName = createString("userName");
@@ -0,0 +1,90 @@
+package com.example.todo.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 역할: "확실히 없음" 또는 "있을 수도 있음"만 답하는 작은 집합
+// 폐기된 토큰이 아닌 대부분의 요청은 DB 조회 없이 메모리에서 바로 통과시키기 위해 사용한다.
+// 넣은 값은 반드시 있다고 답하지만(거짓 음성 없음), 넣지 않은 값도 fpp 확률로 있다고 답할 수 있다.
+// 값을 지울 수 없으므로 만료된 값을 빼려면 새로 만들어야 한다.
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+
+    private BloomFilter(long bitSize, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * @param expectedInsertions - 넣을 것으로 예상되는 값의 개수
+     * @param fpp - 허용할 거짓 양성 확률 (0.01 = 1%)
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Bloom filter 설정이 올바르지 않습니다.");
+        }
+        // m = -n * ln(p) / (ln 2)^2, k = m / n * ln 2
+        long bitSize = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        return new BloomFilter(Math.max(64, bitSize), hashCount);
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            // 다른 스레드가 같은 word 에 비트를 세우고 있을 수 있으므로 CAS 로 OR
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // FNV-1a 64비트 해시에 비트를 한 번 더 섞어서 사용
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.todo.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// 역할: 토큰 원문 대신 저장하거나 키로 사용할 고정 길이 해시값(SHA-256, 16진수 64자)을 만드는 객체
+public final class TokenHasher {
+
+    // SHA-256 해시의 16진수 문자열 길이
+    public static final int HASH_LENGTH = 64;
+
+    private TokenHasher() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
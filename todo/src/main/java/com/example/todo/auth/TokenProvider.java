@@ -3,18 +3,22 @@ package com.example.todo.auth;
 import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 @Slf4j
@@ -28,12 +32,35 @@ public class TokenProvider {
     @Value("${jwt.refresh-secret}")
     private String REFRESH_SECRET_KEY;
 
+    // 검증이 끝난 액세스 토큰을 보관할 최대 개수
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // 서명 키와 파서는 요청마다 만들 필요가 없으므로 서버 시작 시 한 번만 생성 (JwtParser 는 thread-safe)
+    private Key accessKey;
+    private Key refreshKey;
+    private JwtParser accessParser;
+    private JwtParser refreshParser;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    public void init() {
+        accessKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        refreshKey = Keys.hmacShaKeyFor(REFRESH_SECRET_KEY.getBytes());
+        //토큰 발급자의 발급 당시의 서명을 넣어줌.
+        accessParser = Jwts.parserBuilder().setSigningKey(accessKey).build();
+        refreshParser = Jwts.parserBuilder().setSigningKey(refreshKey).build();
+        verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
+    }
+
     /**
      * JSON Web Token을 생성하는 메서드
      * @param userEntity - 토큰의 내용(클레임)에 포함될 유저 정보
+     * @param signingKey - 서명에 사용할 키
      * @return - 생성된 JSON을 암호화 한 토큰값
      */
-    public String createToken(User userEntity, String secretKey, long duration, ChronoUnit unit) {
+    public String createToken(User userEntity, Key signingKey, long duration, ChronoUnit unit) {
         // 토큰 만료 시간 생성
         Date expiry = Date.from(
                 Instant.now().plus(duration, unit)
@@ -59,7 +86,7 @@ public class TokenProvider {
         return Jwts.builder()
                 //token Header에 들어갈 서명
                 .signWith(
-                        Keys.hmacShaKeyFor(secretKey.getBytes()),
+                        signingKey,
                         SignatureAlgorithm.HS512
                 )
                 // token payload에 들어갈 클레임 설정
@@ -68,33 +95,30 @@ public class TokenProvider {
                 .setIssuedAt(new Date()) // iat: 발급 시간
                 .setExpiration(expiry) // exp: 만료 시간
                 .setSubject(userEntity.getId()) // sub: 토큰을 식별할 수 있는 주요 데이터
+                .setId(UUID.randomUUID().toString()) // jti: 토큰 한 개를 식별하는 값 (폐기 목록의 키)
                 .compact();
     }
 
     public String createAccessKey(User userEntity) {
-        return createToken(userEntity, SECRET_KEY, 15, ChronoUnit.SECONDS);
+        return createToken(userEntity, accessKey, 15, ChronoUnit.SECONDS);
     }
 
     public String createRefreshKey(User userEntity) {
-        return createToken(userEntity, REFRESH_SECRET_KEY, 2, ChronoUnit.MINUTES);
+        return createToken(userEntity, refreshKey, 2, ChronoUnit.MINUTES);
     }
 
     // 토큰에서 클레임을 추출하는 로직을 분리했습니다.
-    private Claims getClaims(String token, String secretKey) {
-        Claims claims = Jwts.parserBuilder()
-                //토큰 발급자의 발급 당시의 서명을 넣어줌.
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                // 서명 위조 검사: 위조된 경우에는 예외가 발생합니다.
-                // 위조가 되지 않은 경우 payload를 리턴
-                .build()
+    private Claims getClaims(String token, JwtParser parser) {
+        // 서명 위조 검사: 위조된 경우에는 예외가 발생합니다.
+        // 위조가 되지 않은 경우 payload를 리턴
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
-        return claims;
     }
 
     // 리프레시 토큰 만료시간만 추출하기
     public Date getExpiryDate(String token) {
-        Claims claims = getClaims(token, REFRESH_SECRET_KEY);
+        Claims claims = getClaims(token, refreshParser);
         return claims.getExpiration();
     }
 
@@ -106,21 +130,32 @@ public class TokenProvider {
      * @return - 토큰 안에 있는 인증된 유저 정보를 반환
      */
     public TokenUserInfo validateAndGetTokenUserInfo(String token) {
-        Claims claims = getClaims(token, SECRET_KEY);
+        // 이미 검증을 마친 토큰이라면 서명 검사와 파싱을 생략
+        TokenUserInfo cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
 
-        log.info("claims: {}", claims);
+        Claims claims = getClaims(token, accessParser);
 
-        return TokenUserInfo.builder()
+        log.debug("claims: {}", claims);
+
+        TokenUserInfo userInfo = TokenUserInfo.builder()
                 .userId(claims.getSubject())
                 .email(claims.get("email", String.class))
                 .role(Role.valueOf(claims.get("role", String.class)))
+                .tokenId(claims.getId())
+                .expiresAt(claims.getExpiration())
                 .build();
+
+        verifiedTokenCache.put(token, userInfo, claims.getExpiration().getTime());
+        return userInfo;
     }
 
     // refresh token의 유효성을 검사합니다.
     public boolean validateRefreshToken(String token) {
         try {
-            getClaims(token, REFRESH_SECRET_KEY);
+            getClaims(token, refreshParser);
             return true;
         } catch (Exception e) {
             log.warn("유효하지 않은 리프레시 토큰!");
@@ -0,0 +1,131 @@
+package com.example.todo.auth;
+
+import com.example.todo.userapi.entity.RevokedToken;
+import com.example.todo.userapi.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+// 역할: 만료 전에 폐기된 액세스 토큰(jti)을 판별하는 객체
+// - 폐기 목록 원본은 모든 서버가 공유하는 tbl_revoked_token 에 저장
+// - 각 서버는 목록을 Bloom filter 로 들고 있다가, Bloom filter 가 "있을 수도 있음"이라고 답한 토큰만 DB 에서 확인한다.
+//   폐기된 토큰은 전체 요청 중 극히 일부이므로 대부분의 요청은 DB 조회 없이 통과한다.
+// - 다른 서버에서 폐기한 토큰은 주기적인 동기화로 반영되므로 최대 sync-interval-ms 만큼 늦게 막힐 수 있다.
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final long syncOverlapMs;
+    private final long rebuildIntervalMs;
+
+    private volatile BloomFilter filter;
+    private LocalDateTime lastSync;
+    private long lastRebuild;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${jwt.revocation.fpp:0.01}") double fpp,
+                               @Value("${jwt.revocation.sync-overlap-ms:60000}") long syncOverlapMs,
+                               @Value("${jwt.revocation.rebuild-interval-ms:600000}") long rebuildIntervalMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.syncOverlapMs = syncOverlapMs;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 토큰을 만료 시간 전까지 사용할 수 없도록 폐기
+     * @param tokenId - 토큰의 jti 클레임 (jti 가 없거나 UUID 형식이 아닌 토큰이라면 무시)
+     * @param expiresAt - 토큰의 만료 시간
+     */
+    public void revoke(String tokenId, Date expiresAt) {
+        if (!isUuid(tokenId) || expiresAt == null || !expiresAt.after(new Date())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiresAt)
+                .revokedAt(LocalDateTime.now())
+                .build());
+        filter.put(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        // 폐기 목록의 키는 UUID 로만 저장되므로(BINARY(16)), 형식이 다른 jti 는 폐기된 적이 없는 토큰
+        // DB 조회까지 가면 변환에 실패해 인증 필터에서 500 오류가 나므로 미리 걸러낸다.
+        if (!isUuid(tokenId)) {
+            return false;
+        }
+        // Bloom filter 에 없다면 확실히 폐기되지 않은 토큰
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.isRevoked(tokenId);
+    }
+
+    private static boolean isUuid(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        try {
+            UUID.fromString(tokenId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // 다른 서버에서 폐기한 토큰을 Bloom filter 에 반영
+    // 서버 간 시계 차이와 아직 커밋되지 않은 트랜잭션을 고려해 마지막 동기화 시간보다 조금 앞에서부터 읽는다.
+    // (이미 들어있는 값을 다시 넣어도 결과는 같다.)
+    @Scheduled(initialDelayString = "${jwt.revocation.sync-interval-ms:5000}",
+            fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        if (System.currentTimeMillis() - lastRebuild >= rebuildIntervalMs) {
+            rebuild();
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsRevokedAfter(
+                lastSync.minusNanos(syncOverlapMs * 1_000_000));
+        BloomFilter current = filter;
+        tokenIds.forEach(current::put);
+        lastSync = startedAt;
+    }
+
+    // Bloom filter 는 값을 지울 수 없으므로, 만료된 토큰을 정리한 뒤 남은 목록으로 새로 만든다.
+    private synchronized void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Date now = new Date();
+
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        List<String> tokenIds = revokedTokenRepository.findUnexpiredTokenIds(now);
+
+        // 예상보다 많이 쌓였다면 거짓 양성 확률이 유지되도록 크기를 늘린다.
+        BloomFilter fresh = BloomFilter.create(Math.max(expectedInsertions, tokenIds.size() * 2L), fpp);
+        tokenIds.forEach(fresh::put);
+
+        // 새로 만드는 동안 이 서버에서 폐기된 토큰은 다음 동기화(겹치는 구간)에서 다시 반영된다.
+        filter = fresh;
+        lastSync = startedAt;
+        lastRebuild = System.currentTimeMillis();
+        log.debug("폐기 토큰 목록 재구성 - 유효 {}건, 만료 삭제 {}건", tokenIds.size(), deleted);
+    }
+
+}
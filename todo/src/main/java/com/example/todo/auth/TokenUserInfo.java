@@ -3,6 +3,8 @@ package com.example.todo.auth;
 import com.example.todo.userapi.entity.Role;
 import lombok.*;
 
+import java.util.Date;
+
 @Getter @ToString @EqualsAndHashCode
 @NoArgsConstructor @AllArgsConstructor
 @Builder
@@ -15,6 +17,10 @@ public class TokenUserInfo {
 
     private Role role;
 
+    private String tokenId; // jti: 로그아웃 등으로 토큰을 폐기할 때 사용
+
+    private Date expiresAt;
+
 
 
 }
@@ -0,0 +1,37 @@
+package com.example.todo.auth;
+
+import com.example.todo.cache.ExpiringLruCache;
+
+// 역할: 이미 서명 검증이 끝난 액세스 토큰의 유저 정보를 만료 시간까지 보관하는 객체
+// 같은 토큰으로 반복해서 들어오는 요청은 서명 검증과 JSON 파싱을 건너뛸 수 있다.
+public class VerifiedTokenCache {
+
+    // key: 토큰의 SHA-256 해시 (토큰 원문을 메모리에 들고 있지 않기 위함)
+    // 최대 개수를 넘으면 가장 오래 사용하지 않은 토큰부터 밀려난다.
+    private final ExpiringLruCache<String, TokenUserInfo> cache;
+
+    public VerifiedTokenCache(int maxSize) {
+        this.cache = new ExpiringLruCache<>(maxSize);
+    }
+
+    /**
+     * 캐시된 유저 정보를 조회
+     * @param token - 클라이언트가 전송한 토큰
+     * @return - 캐시에 없거나 만료되었다면 null
+     */
+    public TokenUserInfo get(String token) {
+        return cache.get(TokenHasher.sha256(token));
+    }
+
+    public void put(String token, TokenUserInfo userInfo, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(TokenHasher.sha256(token), userInfo, expiresAt);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+}
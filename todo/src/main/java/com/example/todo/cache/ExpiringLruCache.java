@@ -0,0 +1,158 @@
+package com.example.todo.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+// 역할: 최대 개수와 항목별 만료 시간이 있는 메모리 캐시
+// - 키를 여러 구역(segment)으로 나누고 구역마다 최근 사용 순서(LRU)로 보관한다. 잠금은 구역 단위
+// - 가득 차면 가장 오래 사용하지 않은 항목 하나만 제거하므로, 항목이 아무리 많아도 저장 비용이 일정하다.
+//   (전체 항목을 훑어서 만료된 항목을 찾는 정리 작업이 없음)
+// - 만료된 항목은 조회할 때 제거되고, 조회되지 않는 항목은 LRU 순서에 따라 밀려난다.
+public class ExpiringLruCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public ExpiringLruCache(int maxSize) {
+        int perSegment = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+        this.segments = new ExpiringLruCache.Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @return - 없거나 만료되었다면 null
+     */
+    public V get(K key) {
+        return segmentOf(key).get(key, System.currentTimeMillis());
+    }
+
+    /**
+     * @param expiresAt - 만료 시각 (epoch ms)
+     */
+    public void put(K key, V value, long expiresAt) {
+        segmentOf(key).put(key, new Entry<>(value, expiresAt));
+    }
+
+    /**
+     * 만료되지 않은 기존 값이 있다면 remapping(기존 값, 새 값) 결과로, 없다면 새 값으로 저장
+     * 만료 시각은 항상 새로 전달한 값으로 바뀐다.
+     */
+    public void merge(K key, V value, long expiresAt, BinaryOperator<V> remapping) {
+        segmentOf(key).merge(key, value, expiresAt, remapping, System.currentTimeMillis());
+    }
+
+    /**
+     * 만료되지 않은 값이 있다면 그 값을, 없다면 factory 로 만든 값을 저장하고 리턴
+     * 만료 시각은 항상 새로 전달한 값으로 바뀐다. (사용할 때마다 만료를 미루는 용도)
+     * 구역이 가득 찼다면 가장 오래 사용하지 않은 항목이 만료된 경우에만 밀어내고 저장한다.
+     * @return - 구역이 가득 찼고 만료된 항목도 없어서 저장하지 못했다면 null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory, long expiresAt) {
+        return segmentOf(key).computeIfAbsent(key, factory, expiresAt, System.currentTimeMillis());
+    }
+
+    public void remove(K key) {
+        segmentOf(key).remove(key);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentOf(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private final class Segment {
+
+        private final int maxSize;
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(int maxSize) {
+            this.maxSize = maxSize;
+            // 접근 순서로 정렬하고, 최대 개수를 넘으면 가장 오래 사용하지 않은 항목 제거
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        synchronized V get(K key, long now) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                map.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized void put(K key, Entry<V> entry) {
+            map.put(key, entry);
+        }
+
+        synchronized void merge(K key, V value, long expiresAt, BinaryOperator<V> remapping, long now) {
+            Entry<V> old = map.get(key);
+            V merged = (old == null || old.isExpired(now)) ? value : remapping.apply(old.value(), value);
+            map.put(key, new Entry<>(merged, expiresAt));
+        }
+
+        synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> factory, long expiresAt, long now) {
+            Entry<V> old = map.get(key);
+            if (old != null && !old.isExpired(now)) {
+                map.put(key, new Entry<>(old.value(), expiresAt));
+                return old.value();
+            }
+            if (old == null && map.size() >= maxSize) {
+                Map.Entry<K, Entry<V>> eldest = map.entrySet().iterator().next();
+                if (!eldest.getValue().isExpired(now)) {
+                    return null;
+                }
+                map.remove(eldest.getKey());
+            }
+            V value = factory.apply(key);
+            map.put(key, new Entry<>(value, expiresAt));
+            return value;
+        }
+
+        synchronized void remove(K key) {
+            map.remove(key);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+
+}
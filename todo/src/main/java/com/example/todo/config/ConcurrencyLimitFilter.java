@@ -0,0 +1,90 @@
+package com.example.todo.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 동시에 처리 중인 요청 수를 제한하는 필터
+// 자리가 나지 않으면 503 과 Retry-After 헤더로 응답합니다.
+// 비동기 요청(내보내기 등)은 첫 번째 디스패치가 끝난 뒤에도 응답을 쓰면서 커넥션을 사용하므로 비동기 처리가 완료될 때 자리를 반납합니다.
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // 첫 번째 디스패치 이후에는 DB 를 사용하지 않는 비동기 요청(SSE 구독)이 설정하는 요청 속성
+    // 설정되어 있다면 연결이 유지되는 동안 자리를 차지하지 않도록 디스패치가 끝나는 즉시 반납
+    public static final String RELEASE_ON_DISPATCH_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".releaseOnDispatch";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("동시 요청 수 제한 초과 - {}", request.getRequestURI());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        boolean heldUntilAsyncComplete = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted() && request.getAttribute(RELEASE_ON_DISPATCH_ATTRIBUTE) == null) {
+                // 디스패치가 끝나기 전까지는 비동기 처리가 완료되지 않으므로 리스너 등록 전에 onComplete 가 지나가는 일은 없음
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                heldUntilAsyncComplete = true;
+            }
+        } finally {
+            if (!heldUntilAsyncComplete) {
+                permits.release();
+            }
+        }
+    }
+
+    // 비동기 처리가 끝나면(정상 완료, 타임아웃, 에러 모두 마지막에 onComplete 호출) 자리를 반납
+    private class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.example.todo.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -21,4 +22,10 @@ public class CustomServletConfig implements WebMvcConfigurer {
                 .allowedHeaders("Authorization", "Cache-Control", "Content-Type");
 
     }
+
+    // 요청별 스트리밍 응답 제한 시간 (할 일 내보내기 등)
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new StreamingTimeoutInterceptor());
+    }
 }
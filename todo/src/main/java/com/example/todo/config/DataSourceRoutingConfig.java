@@ -0,0 +1,74 @@
+package com.example.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// 원본/복제 DB 분리 설정 (datasource.replica.url 이 설정된 경우에만 적용)
+// 원본: spring.datasource.*  /  복제: datasource.replica.* (url, username, password, hikari.*)
+// 설정이 없다면 지금처럼 스프링 부트가 만드는 DataSource 하나만 사용합니다.
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // JPA 등 애플리케이션 전체가 사용하는 DataSource
+    // 커넥션을 실제로 사용하는 시점까지 미뤄야 트랜잭션의 readOnly 여부를 보고 라우팅할 수 있다.
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${datasource.replica.pin-window-ms:3000}") long pinWindowMs) {
+        log.info("원본/복제 DB 라우팅 사용 - 변경 후 원본 고정 시간: {}ms", pinWindowMs);
+
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(pinWindowMs);
+        routing.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.Target.PRIMARY, primary,
+                ReplicationRoutingDataSource.Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.todo.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// INSERT, UPDATE 문을 모아서 한 번에 전송하기 위한 JDBC 배치 설정
+// MySQL 은 datasource url 에 rewriteBatchedStatements=true 옵션을 추가해야 드라이버 단에서도 하나의 쿼리로 묶인다.
+@Configuration
+public class JpaBatchConfig {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", BATCH_SIZE);
+            // 같은 테이블에 대한 INSERT, UPDATE 를 정렬해서 배치로 묶일 수 있게 함
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.example.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 로그인, 회원가입, 이메일 중복확인 요청 횟수 제한 설정
+// yml 에 rate-limit.rules 가 없다면 아래 기본값을 사용
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 이 시간(초) 동안 요청이 없었던 키는 추적할 키가 가득 찼을 때 제거 대상이 됨 (가장 느린 규칙의 버킷이 가득 차는 시간보다 길어야 함)
+    private long idleEvictSeconds = 600;
+
+    // 추적할 최대 키 개수 (넘치는 새 키들은 규칙별 공용 버킷 하나로 함께 제한)
+    private int maxKeys = 200_000;
+
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("POST", "/api/auth/signin", KeyType.IP, 20, 20),
+            new Rule("POST", "/api/auth/signin", KeyType.EMAIL, 5, 5),
+            new Rule("POST", "/api/auth", KeyType.IP, 5, 5),
+            new Rule("GET", "/api/auth/check", KeyType.IP, 30, 30),
+            new Rule("GET", "/api/auth/check", KeyType.EMAIL, 10, 10)
+    ));
+
+    public enum KeyType {
+        IP, EMAIL
+    }
+
+    public static class Rule {
+
+        private String method;
+        private String path;
+        private KeyType keyBy = KeyType.IP;
+        private int capacity; // 한 번에 허용할 수 있는 최대 요청 수 (버킷 크기)
+        private int refillPerMinute; // 1분 동안 다시 채워지는 요청 수
+
+        public Rule() {
+        }
+
+        public Rule(String method, String path, KeyType keyBy, int capacity, int refillPerMinute) {
+            this.method = method;
+            this.path = path;
+            this.keyBy = keyBy;
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public KeyType getKeyBy() {
+            return keyBy;
+        }
+
+        public void setKeyBy(KeyType keyBy) {
+            this.keyBy = keyBy;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getIdleEvictSeconds() {
+        return idleEvictSeconds;
+    }
+
+    public void setIdleEvictSeconds(long idleEvictSeconds) {
+        this.idleEvictSeconds = idleEvictSeconds;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.todo.config;
+
+import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.cache.ExpiringLruCache;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 역할: 현재 트랜잭션에 따라 원본(primary) 또는 복제(replica) DB 커넥션을 골라주는 DataSource
+// - @Transactional(readOnly = true) 트랜잭션은 복제 DB 로, 나머지는 원본 DB 로 보낸다.
+// - 복제 DB 는 원본보다 조금 늦게 반영되므로, 방금 데이터를 변경한 회원은 일정 시간 동안
+//   읽기 전용 트랜잭션도 원본 DB 로 보낸다. (내가 쓴 글이 바로 보이도록 - read-your-writes)
+//   회원을 원본에 고정하는 것은 쓰기 트랜잭션이 커밋된 시점뿐이다.
+//   트랜잭션 밖의 커넥션(ETag 확인용 버전 조회 등)은 원본을 사용하지만 고정하지 않는다.
+// 트랜잭션의 readOnly 여부는 커넥션을 실제로 얻는 시점에 확인해야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final long pinWindowMs;
+
+    // key: 회원 id, value: 원본 DB 를 사용해야 하는 기한 (기한이 지나면 조회되지 않음)
+    private final ExpiringLruCache<String, Long> pinnedUntil = new ExpiringLruCache<>(100_000);
+
+    public ReplicationRoutingDataSource(long pinWindowMs) {
+        this.pinWindowMs = pinWindowMs;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String userId = currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // 변경은 커밋되어야 복제 DB 로 전달되므로 커밋이 끝난 시점부터 기간을 계산 (롤백되면 고정하지 않음)
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        pin(userId);
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+
+        if (userId != null && isPinned(userId)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    void pin(String userId) {
+        long until = System.currentTimeMillis() + pinWindowMs;
+        pinnedUntil.merge(userId, until, until, Math::max);
+    }
+
+    boolean isPinned(String userId) {
+        return pinnedUntil.get(userId) != null;
+    }
+
+    // JwtAuthFilter 가 등록한 인증 정보에서 회원 id 를 꺼냄 (로그인 전 요청이나 비동기 스레드라면 null)
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenUserInfo userInfo) {
+            return userInfo.getUserId();
+        }
+        return null;
+    }
+
+}
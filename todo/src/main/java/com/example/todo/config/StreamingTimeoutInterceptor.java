@@ -0,0 +1,35 @@
+package com.example.todo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+// 역할: StreamingResponseBody 처럼 비동기로 응답을 쓰는 요청에 요청별 제한 시간을 지정하는 객체
+// StreamingResponseBody 는 컨트롤러에서 제한 시간을 지정할 방법이 없어 톰캣 기본값(30초)이 적용되므로,
+// 대용량 응답이 중간에 잘리지 않도록 컨트롤러가 요청 속성에 남긴 시간을 비동기 처리 시작 직전에 적용한다.
+@Slf4j
+public class StreamingTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    // 값: 제한 시간(ms, Long)
+    public static final String TIMEOUT_ATTRIBUTE = StreamingTimeoutInterceptor.class.getName() + ".timeout";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Long timeoutMs && request instanceof AsyncWebRequest asyncWebRequest) {
+            asyncWebRequest.setTimeout(timeoutMs);
+        }
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            log.warn("스트리밍 응답 제한 시간 초과 - {}", request.getDescription(false));
+        }
+        return RESULT_NONE;
+    }
+}
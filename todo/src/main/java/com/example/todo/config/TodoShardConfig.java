@@ -0,0 +1,96 @@
+package com.example.todo.config;
+
+import com.example.todo.todoapi.shard.TodoShardDirectory;
+import com.example.todo.todoapi.shard.TodoShardInterceptor;
+import com.example.todo.todoapi.shard.TodoShardRebalancer;
+import com.example.todo.todoapi.shard.TodoShardRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// 할 일 저장소 샤딩 설정 (todo.sharding.enabled: true 일 때만 적용)
+// - 회원, 샤드 배정 정보(tbl_todo_shard)는 원래 DB(spring.datasource)에 그대로 두고
+//   할 일(tbl_todo)과 회원별 할 일 관리 정보(tbl_todo_owner)만 샤드 DB 에 나누어 저장
+// - 할 일 API 의 모든 쿼리는 한 회원의 데이터만 다루므로 여러 샤드에 걸친 쿼리나 트랜잭션이 없다.
+@Configuration
+@ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TodoShardProperties.class)
+@Slf4j
+public class TodoShardConfig implements WebMvcConfigurer {
+
+    private final TodoShardProperties properties;
+    private final ObjectProvider<TodoShardDirectory> directory;
+
+    public TodoShardConfig(TodoShardProperties properties, ObjectProvider<TodoShardDirectory> directory) {
+        this.properties = properties;
+        this.directory = directory;
+    }
+
+    @Bean(destroyMethod = "close")
+    public TodoShardRegistry todoShardRegistry() {
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            TodoShardProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("todo-shard-" + i);
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        TodoShardRegistry registry = new TodoShardRegistry(shards);
+        registry.initializeSchema();
+        return registry;
+    }
+
+    // 애플리케이션의 DataSource(스프링 부트 기본 또는 원본/복제 라우팅)를 샤드 라우팅 DataSource 로 감쌈
+    // static: BeanPostProcessor 는 다른 빈보다 먼저 생성되어야 하므로
+    @Bean
+    public static BeanPostProcessor todoShardDataSourcePostProcessor(ObjectProvider<TodoShardRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    log.info("할 일 샤딩 사용 - 샤드 {}개", registry.getObject().shardCount());
+                    return registry.getObject().route(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TodoShardDirectory todoShardDirectory(DataSource dataSource) {
+        return new TodoShardDirectory(dataSource, todoShardRegistry(), properties.getDirectoryCacheTtlMs());
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "todo.sharding", name = "rebalance-enabled", havingValue = "true", matchIfMissing = true)
+    public TodoShardRebalancer todoShardRebalancer(TodoShardDirectory todoShardDirectory) {
+        TodoShardRebalancer rebalancer = new TodoShardRebalancer(todoShardRegistry(), todoShardDirectory,
+                properties.getRebalanceGraceMs(), properties.getRebalanceBatchSize());
+        rebalancer.start(properties.getRebalanceIntervalMs());
+        return rebalancer;
+    }
+
+    // SSE 구독은 DB 를 사용하지 않으므로 제외
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TodoShardInterceptor(directory.getObject()))
+                .addPathPatterns("/api/todos", "/api/todos/**")
+                .excludePathPatterns("/api/todos/stream");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 할 일 저장소 샤딩 설정 (todo.sharding.enabled: true 일 때만 적용)
+// todo.sharding.shards 에 등록한 DB 들에 회원 id 의 해시값으로 할 일을 나누어 저장
+@Getter @Setter
+@ConfigurationProperties(prefix = "todo.sharding")
+public class TodoShardProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // 회원 -> 샤드 배정 정보를 메모리에 보관할 시간
+    private long directoryCacheTtlMs = 5_000;
+
+    // 샤드 개수가 바뀌었을 때 회원을 옮기는 작업 (서버가 여러 대라면 한 대에서만 true)
+    private boolean rebalanceEnabled = true;
+
+    // 회원을 옮기는 작업의 실행 간격, 한 번에 옮길 최대 회원 수
+    private long rebalanceIntervalMs = 60_000;
+    private int rebalanceBatchSize = 100;
+
+    // 이동 표시 후 실제로 옮기기 전까지 기다릴 시간
+    // 다른 서버의 배정 캐시가 만료되고 처리 중이던 요청이 끝날 만큼 충분히 길어야 한다.
+    private long rebalanceGraceMs = 15_000;
+
+    @Getter @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
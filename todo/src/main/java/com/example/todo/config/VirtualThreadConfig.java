@@ -0,0 +1,74 @@
+package com.example.todo.config;
+
+import com.example.todo.todoapi.shard.TodoShardRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// 가상 스레드 모드 설정 (spring.threads.virtual.enabled: true 일 때만 적용)
+// 스프링 부트가 톰캣 요청 처리 스레드와 @Async 작업을 가상 스레드로 실행합니다.
+// 가상 스레드는 개수 제한이 없으므로, 요청이 몰리면 모든 스레드가 한정된 DB 커넥션을 기다리게 된다.
+// -> 동시에 처리할 요청 수를 제한하고, 커넥션 대기 시간을 짧게 해서 빨리 실패하도록 합니다.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    // 동시에 처리할 최대 요청 수 (초과 요청은 잠시 기다렸다가 503)
+    // 설정하지 않으면 커넥션 풀 크기를 사용 (요청 하나가 커넥션을 최대 하나 사용하므로, 풀보다 많이 받아봐야 커넥션을 기다리기만 함)
+    @Value("${virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxConcurrentRequests;
+
+    // 처리 자리가 나기를 기다릴 최대 시간
+    @Value("${virtual-threads.acquire-timeout-ms:500}")
+    private long acquireTimeoutMs;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter() {
+        log.info("가상 스레드 모드 - 최대 동시 요청 수: {}", maxConcurrentRequests);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration
+                = new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeoutMs));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // 커넥션 풀에서 커넥션을 기다릴 최대 시간을 줄임 (기본 30초)
+    // 할 일 샤드 풀은 빈이 아니라 TodoShardRegistry 안에서 만들어지므로 함께 적용
+    // static: BeanPostProcessor 는 다른 빈보다 먼저 생성되어야 하므로
+    @Bean
+    public static BeanPostProcessor hikariVirtualThreadPostProcessor(
+            @Value("${virtual-threads.db.connection-timeout-ms:3000}") long connectionTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof HikariDataSource dataSource) {
+                    applyConnectionTimeout(dataSource, connectionTimeoutMs);
+                } else if (bean instanceof TodoShardRegistry registry) {
+                    for (int i = 0; i < registry.shardCount(); i++) {
+                        if (registry.shard(i) instanceof HikariDataSource dataSource) {
+                            applyConnectionTimeout(dataSource, connectionTimeoutMs);
+                        }
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 이미 시작된 풀도 커넥션 대기 시간은 실행 중에 바꿀 수 있음
+    private static void applyConnectionTimeout(HikariDataSource dataSource, long connectionTimeoutMs) {
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        log.info("가상 스레드 모드 - 커넥션 풀: {}, 크기: {}, 커넥션 대기 시간: {}ms",
+                dataSource.getPoolName(), dataSource.getMaximumPoolSize(), connectionTimeoutMs);
+    }
+
+}
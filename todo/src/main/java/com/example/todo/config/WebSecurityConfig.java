@@ -3,6 +3,7 @@ package com.example.todo.config;
 import com.example.todo.exception.CustomAuthenticationEntityPoint;
 import com.example.todo.filter.JwtAuthFilter;
 import com.example.todo.filter.JwtExceptionFilter;
+import com.example.todo.filter.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,6 +35,7 @@ public class WebSecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final JwtExceptionFilter jwtExceptionFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AccessDeniedHandler deniedHandler;
 
     private final RequestProperties properties;
@@ -64,6 +66,8 @@ public class WebSecurityConfig {
                 // 예외 처리만을 전담하는 필터를 생성해서, 예외가 발생하는 필터 앞단에 배치하면,
                 // 발생된 예외가 먼저 배치된 필터로 넘어가서 처리가 가능하게 됨
                 .addFilterBefore(jwtExceptionFilter, JwtAuthFilter.class)
+                // 요청 횟수 제한 필터는 가장 앞에 배치해서, 제한에 걸린 요청은 토큰 검사도 하지 않도록 함
+                .addFilterBefore(rateLimitFilter, JwtExceptionFilter.class)
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
                                 // '/api/todos' 라는 요청이 post 로 들어오고, Role 값이 ADMIN 인 경우 권한 검사 없이 허용하겠다.
@@ -73,6 +77,7 @@ public class WebSecurityConfig {
                                 .requestMatchers(HttpMethod.PUT, "/api/auth/promote").hasAnyRole("COMMON")
                                 .requestMatchers(HttpMethod.PUT, "/api/auth/promote").authenticated()
                                 .requestMatchers("/api/auth/load-profile").authenticated()
+                                .requestMatchers("/api/auth/profile-image").authenticated()
                                 // '/api/auth'로 시작하는 요청과 '/'요청은 권한 검사 없이 허용하겠다.
                                 .requestMatchers(Arrays.toString(properties.getPermitAllPatterns().toArray()).split(", "))
                                 .permitAll()
@@ -89,10 +94,14 @@ public class WebSecurityConfig {
         return http.build();
     }
 
+    // BCrypt 강도 (4 ~ 31, 1 증가할 때마다 계산 시간이 2배)
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     // 비밀번호 암호화 객체를 빈 등록
     @Bean
     public PasswordEncoder encoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
 }
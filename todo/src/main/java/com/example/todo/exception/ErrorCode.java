@@ -11,7 +11,9 @@ public enum ErrorCode {
     INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다."),
     EXPIRED_TOKEN(HttpStatus.UNAUTHORIZED, "만료된 토큰 입니다."),
     INVALID_AUTH(HttpStatus.UNAUTHORIZED, "검증되지 않은 사용자 입니다."),
-    FORBIDDEN_AUTH(HttpStatus.UNAUTHORIZED, "권한이 없는 사용자 입니다.");
+    FORBIDDEN_AUTH(HttpStatus.UNAUTHORIZED, "권한이 없는 사용자 입니다."),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+    PAYLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "요청 본문이 너무 큽니다.");
 
     private final HttpStatus httpStatus;
 
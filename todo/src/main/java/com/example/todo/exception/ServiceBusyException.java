@@ -0,0 +1,17 @@
+package com.example.todo.exception;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 서버가 처리할 수 있는 작업량을 넘어서 요청을 받지 않을 때 발생하는 예외 -> 503 응답
+@NoArgsConstructor
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private long retryAfterSeconds = 1; // 클라이언트에게 알려줄 재시도 대기 시간(초)
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.todo.filter;
 
 import com.example.todo.auth.TokenProvider;
+import com.example.todo.auth.TokenRevocationList;
 import com.example.todo.auth.TokenUserInfo;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,15 +13,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -32,13 +36,19 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
 
-    private List<String> permitAllPatterns;
-
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // yml 에서 가져온 허용 url 패턴을 서버 시작 시 한 번만 파싱해서 보관
+    private List<PathPattern> permitAllPatterns = List.of();
 
     public void setPermitAllPatterns(List<String> permitAllPatterns){
-        this.permitAllPatterns = permitAllPatterns;
+        if (permitAllPatterns == null) {
+            this.permitAllPatterns = List.of();
+            return;
+        }
+        this.permitAllPatterns = permitAllPatterns.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
     }
 
     // 필터가 해야 할 작업을 기술
@@ -48,25 +58,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
 
-            String token = parseBearerToken(request);
-            log.info("JWT Token Filter is running... - token: {}", token);
-
-            String requestURI = request.getRequestURI();
-
-            boolean isPermitAllUrl = permitAllPatterns.stream()
-                    .anyMatch(pattern -> pathMatcher.match(pattern, requestURI));
-
-            // isPermitAllUrl 가 true 라면
-            if(isPermitAllUrl) {
+            // 허용 url 이라면 토큰을 꺼내기 전에 바로 통과
+            if(isPermitAllUrl(request.getRequestURI())) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
+            String token = parseBearerToken(request);
+            log.debug("JWT Token Filter is running... - token: {}", token);
+
             // 토큰 위조검사 및 인증 완료 처리
             if (token != null && !token.equals("null")) {
                 // 토큰 서명 위조 검사와 토큰을 파싱해서 클레임을 얻어내는 작업.
                 TokenUserInfo tokenUserInfo = tokenProvider.validateAndGetTokenUserInfo(token);
 
+                // 만료 전에 폐기된 토큰인지 검사 (검증 캐시에서 꺼낸 토큰도 여기서 걸러진다)
+                if (tokenRevocationList.isRevoked(tokenUserInfo.getTokenId())) {
+                    throw new JwtException("폐기된 토큰입니다.");
+                }
+
                 // spring security에게 전달할 인가 정보 리스트를 생성.
                 // 권한이 여러 개 존재할 경우 리스트로 권한 체크에 사용할 필드를 add
                 // 우리는 Role 타입의 필드 하나만으로 권한을 체크하기 때문에 하나만 add, 여러개라면 여러 개 add 하세요.
@@ -99,6 +109,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     }
 
+    private boolean isPermitAllUrl(String requestURI) {
+        // 미리 파싱된 패턴이므로 요청마다 패턴 문자열을 다시 해석하지 않는다.
+        PathContainer path = PathContainer.parsePath(requestURI);
+        for (PathPattern pattern : permitAllPatterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String parseBearerToken(HttpServletRequest request) {
 
         // 요청 헤더에서 토큰 꺼내오기
@@ -0,0 +1,198 @@
+package com.example.todo.filter;
+
+import com.example.todo.config.RateLimitProperties;
+import com.example.todo.exception.ErrorCode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// 로그인, 회원가입, 이메일 중복확인처럼 인증 없이 호출 가능한 요청의 횟수를 IP, 이메일 별로 제한하는 필터
+// JwtAuthFilter 보다 앞에 배치해서 제한에 걸린 요청은 DB 조회, BCrypt 계산까지 가지 않도록 한다.
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // 이메일을 꺼내기 위해 읽을 요청 바디의 최대 크기 (로그인 요청 JSON)
+    // 이메일 기준 제한이 걸린 요청은 선언된 Content-Length 와 상관없이 이 크기까지만 받고, 넘으면 413 으로 거절한다.
+    private static final int MAX_BODY_SIZE = 8 * 1024;
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter limiter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.limiter = new TokenBucketRateLimiter(properties.getIdleEvictSeconds(), properties.getMaxKeys());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String method = request.getMethod();
+        String requestURI = request.getRequestURI();
+
+        HttpServletRequest target = request;
+        String email = null;
+        boolean emailResolved = false;
+
+        for (int i = 0; i < properties.getRules().size(); i++) {
+            RateLimitProperties.Rule rule = properties.getRules().get(i);
+            if (!rule.getMethod().equalsIgnoreCase(method) || !rule.getPath().equals(requestURI)) {
+                continue;
+            }
+
+            String key;
+            if (rule.getKeyBy() == RateLimitProperties.KeyType.EMAIL) {
+                if (!emailResolved) {
+                    // 이메일은 쿼리 파라미터 또는 JSON 바디에서 한 번만 꺼냄
+                    email = request.getParameter("email");
+                    if (email == null && isJson(request)) {
+                        // Transfer-Encoding: chunked 처럼 크기를 알 수 없는 바디도 직접 읽어서 확인
+                        // (읽지 못한다고 규칙을 건너뛰면 이메일 기준 제한을 우회할 수 있음)
+                        CachedBodyRequest cached = CachedBodyRequest.of(request, MAX_BODY_SIZE);
+                        if (cached == null) {
+                            log.warn("요청 바디가 너무 큽니다. - {} {}", method, requestURI);
+                            setErrorResponse(response, ErrorCode.PAYLOAD_TOO_LARGE);
+                            return;
+                        }
+                        target = cached;
+                        email = extractEmail(cached.body);
+                    }
+                    emailResolved = true;
+                }
+                if (email == null || email.isBlank()) {
+                    continue;
+                }
+                key = i + ":email:" + email.trim().toLowerCase(Locale.ROOT);
+            } else {
+                // 프록시 뒤에서 운영한다면 server.forward-headers-strategy 설정으로 실제 클라이언트 IP 가 들어오게 해야 함
+                key = i + ":ip:" + request.getRemoteAddr();
+            }
+
+            long waitMillis = limiter.tryAcquire(key, rule.getCapacity(), rule.getRefillPerMinute());
+            if (waitMillis > 0) {
+                log.warn("요청 횟수 제한 초과 - {} {} ({})", method, requestURI, key);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000));
+                setErrorResponse(response, ErrorCode.TOO_MANY_REQUESTS);
+                return;
+            }
+        }
+
+        filterChain.doFilter(target, response);
+    }
+
+    private boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            JsonNode email = node == null ? null : node.get("email");
+            return email == null ? null : email.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void setErrorResponse(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+
+        response.setStatus(errorCode.getHttpStatus().value());
+        response.setContentType("application/json; charset=UTF-8");
+
+        Map<String, Object> responseMap = new HashMap<>();
+        responseMap.put("message", errorCode.getMessage());
+        responseMap.put("code", errorCode.getHttpStatus());
+
+        response.getWriter().write(objectMapper.writeValueAsString(responseMap));
+    }
+
+    // 요청 바디를 미리 읽어두고, 이후 필터와 컨트롤러에서 다시 읽을 수 있게 해주는 요청 객체
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // 바디가 maxSize 보다 크다면 null
+        // 선언된 크기(Content-Length)는 믿지 않고 실제로 maxSize + 1 바이트까지 읽어서 확인
+        static CachedBodyRequest of(HttpServletRequest request, int maxSize) throws IOException {
+            if (request.getContentLengthLong() > maxSize) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(maxSize + 1);
+            if (body.length > maxSize) {
+                return null;
+            }
+            return new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.example.todo.filter;
+
+import com.example.todo.cache.ExpiringLruCache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 역할: 키(IP, 이메일 등)별 토큰 버킷으로 요청 횟수를 제한하는 객체
+// - 키별 버킷은 ExpiringLruCache 에 보관하고, 사용할 때마다 만료 시각을 idle-evict-seconds 뒤로 미룬다.
+//   가득 차면 가장 오래 사용하지 않은 키가 그 시간 동안 쓰이지 않았을 때만 제거한다.
+// - 가장 오래된 키도 아직 사용 중이라 제거할 수 없다면, 새 키는 추적하지 않고 규칙별 공용 버킷 하나를 함께 쓴다.
+//   키를 계속 바꿔가며 요청해도 제한이 풀리지 않고, 새 키들 전체가 한 키 분량으로 제한된다.
+@Slf4j
+public class TokenBucketRateLimiter {
+
+    private final ExpiringLruCache<String, Bucket> buckets;
+
+    // 추적하지 못한 키들이 함께 쓰는 버킷 (key: 버킷 크기와 충전 속도 -> 규칙 개수 만큼만 생김)
+    private final Map<Long, Bucket> overflowBuckets = new ConcurrentHashMap<>();
+
+    private final long idleEvictMillis;
+
+    public TokenBucketRateLimiter(long idleEvictSeconds, int maxKeys) {
+        this.idleEvictMillis = TimeUnit.SECONDS.toMillis(idleEvictSeconds);
+        this.buckets = new ExpiringLruCache<>(maxKeys);
+    }
+
+    /**
+     * 토큰 하나를 소비
+     * @param key - 제한 기준 키
+     * @param capacity - 버킷 크기
+     * @param refillPerMinute - 1분 동안 채워지는 토큰 수
+     * @return - 허용되면 0, 거절되면 다음 토큰이 채워질 때까지 남은 시간(ms)
+     */
+    public long tryAcquire(String key, int capacity, int refillPerMinute) {
+        long now = System.nanoTime();
+
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now),
+                System.currentTimeMillis() + idleEvictMillis);
+        if (bucket == null) {
+            bucket = overflowBuckets.computeIfAbsent(((long) capacity << 32) | (refillPerMinute & 0xffffffffL),
+                    k -> {
+                        log.warn("요청 제한 키 개수가 최대치에 도달했습니다. 새 키는 공용 버킷으로 제한합니다.");
+                        return new Bucket(capacity, now);
+                    });
+        }
+        return bucket.tryConsume(now, capacity, refillPerMinute);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        synchronized long tryConsume(long now, int capacity, int refillPerMinute) {
+            double refillPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            if (refillPerMinute <= 0) {
+                return TimeUnit.MINUTES.toMillis(1);
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis((long) Math.ceil((1 - tokens) / refillPerNano)));
+        }
+    }
+
+}
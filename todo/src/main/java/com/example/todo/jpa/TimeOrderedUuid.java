@@ -0,0 +1,18 @@
+package com.example.todo.jpa;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// 시간순으로 증가하는 UUID (v7) 를 식별자로 생성
+// 랜덤 UUID 는 클러스터드 인덱스의 아무 위치에나 INSERT 되어 페이지 분할이 잦지만,
+// 시간순 UUID 는 항상 인덱스 끝에 추가되므로 단편화가 거의 없음
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface TimeOrderedUuid {
+}
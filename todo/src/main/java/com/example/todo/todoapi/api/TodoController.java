@@ -1,18 +1,39 @@
 package com.example.todo.todoapi.api;
 
 import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.config.ConcurrencyLimitFilter;
+import com.example.todo.config.StreamingTimeoutInterceptor;
+import com.example.todo.exception.ServiceBusyException;
+import com.example.todo.todoapi.dto.request.TodoBatchRequestDTO;
 import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoExportFormat;
 import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.response.TodoBatchResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoMutationResponseDTO;
+import com.example.todo.todoapi.event.TodoEventHub;
+import com.example.todo.todoapi.event.TodoVersionCache;
+import com.example.todo.todoapi.search.TodoSearchIndex;
+import com.example.todo.todoapi.service.TodoExportService;
 import com.example.todo.todoapi.service.TodoService;
+import com.example.todo.todoapi.shard.TodoShardContext;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,6 +45,21 @@ import java.util.List;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoEventHub todoEventHub;
+    private final TodoExportService todoExportService;
+    private final TodoVersionCache todoVersionCache;
+    private final TodoSearchIndex todoSearchIndex;
+
+    // 내보내기 응답 전체를 쓰는 데 허용할 최대 시간 (초과하면 연결을 끊음)
+    @Value("${todo.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+
+    // 커서 페이징 시 한 번에 가져올 할 일 개수 (기본값, 최대값)
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 할 일 등록/수정/삭제 요청은 기본적으로 변경된 할 일 하나와 목록 버전만 응답합니다.
+    // 이전처럼 전체 목록을 응답 받고 싶다면 ?fullList=true 를 함께 전달하세요.
 
     // 할 일 등록 요청
     @PostMapping
@@ -32,26 +68,71 @@ public class TodoController {
             // @AuthenticationPrincipal을 통해 토큰에 인증된 사용자 정보를 불러올 수 있다.
             @AuthenticationPrincipal TokenUserInfo userInfo,
             @Validated @RequestBody TodoCreateRequestDTO requestDTO,
-            BindingResult result
+            BindingResult result,
+            @RequestParam(value = "fullList", defaultValue = "false") boolean fullList
     ) {
         log.info("/api/todos GET! - dto: {}", requestDTO);
         log.info("TokenUserInfo: {}", userInfo);
         ResponseEntity<List<FieldError>> validatedResult = getValidatedResult(result);
         if (validatedResult != null) return validatedResult;
 
-        TodoListResponseDTO responseDTO = todoService.create(requestDTO, userInfo.getUserId());
-        return ResponseEntity.ok().body(responseDTO);
+        try {
+            if (fullList) {
+                return ResponseEntity.ok()
+                        .body(todoService.createAndRetrieve(requestDTO, userInfo.getUserId(), userInfo.getRole()));
+            }
+            return ResponseEntity.ok()
+                    .body(todoService.create(requestDTO, userInfo.getUserId(), userInfo.getRole()));
+        } catch (IllegalArgumentException e) {
+            // 등록 가능한 개수를 넘은 경우
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(TodoMutationResponseDTO.builder()
+                            .error(e.getMessage())
+                            .build());
+        }
     }
 
     // 할 일 목록 요청
+    // after 또는 limit 이 전달되면 커서 페이징으로 동작 (GET: /api/todos?after=커서&limit=20)
+    // 전체 목록 요청은 목록 버전을 ETag 로 응답하고, If-None-Match 가 현재 버전과 같다면 목록 조회 없이 304 를 응답
     @GetMapping
     public ResponseEntity<?> retrieveTodoList(
-            @AuthenticationPrincipal TokenUserInfo userInfo
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        log.info("/api/todos GET request!");
+        log.info("/api/todos GET request! - after: {}, limit: {}", after, limit);
         try {
-            TodoListResponseDTO responseDTO = todoService.retrieve(userInfo.getUserId());
-            return ResponseEntity.ok().body(responseDTO);
+            TodoListResponseDTO responseDTO;
+            if (after != null || limit != null) {
+                int pageSize = (limit == null) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+                responseDTO = todoService.retrievePage(userInfo.getUserId(), after, pageSize);
+                return ResponseEntity.ok().body(responseDTO);
+            }
+
+            String userId = userInfo.getUserId();
+            String currentETag = listETag(userId, todoVersionCache.get(userId));
+            if (ifNoneMatch != null && eTagMatches(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(currentETag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+
+            responseDTO = todoService.retrieve(userId);
+            todoVersionCache.update(userId, responseDTO.getVersion());
+            return ResponseEntity.ok()
+                    .eTag(listETag(userId, responseDTO.getVersion()))
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(responseDTO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(TodoListResponseDTO.builder()
+                            .error(e.getMessage())
+                            .build());
         } catch (Exception e) {
             return ResponseEntity
                     .internalServerError()
@@ -61,11 +142,84 @@ public class TodoController {
         }
     }
 
+    // 할 일 제목 검색 (GET: /api/todos/search?q=장보기&limit=20)
+    // DB 에 LIKE 검색을 하지 않고 메모리의 회원별 역색인에서 찾음
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTodo(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        log.info("/api/todos/search GET request! - q: {}, limit: {}", query, limit);
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest()
+                    .body(TodoListResponseDTO.builder()
+                            .error("검색어를 입력해 주세요.")
+                            .build());
+        }
+
+        String userId = userInfo.getUserId();
+        int size = (limit == null) ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok().body(TodoListResponseDTO.builder()
+                .todos(todoSearchIndex.search(userId, query, size))
+                .version(todoVersionCache.get(userId))
+                .build());
+    }
+
+    // 할 일 변경 이벤트 구독 (Server-Sent Events)
+    // 다른 기기에서 할 일을 등록/수정/삭제하면 목록을 다시 요청하지 않아도 변경된 할 일이 전달된다.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTodoEvents(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            HttpServletRequest request
+    ) {
+        log.info("/api/todos/stream GET request! - user: {}", userInfo.getUserId());
+        // 구독 이후에는 DB 를 사용하지 않으므로 연결이 유지되는 동안 동시 요청 수 자리를 차지하지 않음
+        request.setAttribute(ConcurrencyLimitFilter.RELEASE_ON_DISPATCH_ATTRIBUTE, true);
+        return todoEventHub.subscribe(userInfo.getUserId(), request);
+    }
+
+    // 할 일 내보내기 (GET: /api/todos/export?format=ndjson 또는 csv)
+    // 전체 목록을 메모리에 모으지 않고 DB 에서 읽는 대로 응답에 바로 씀
+    // 응답 전체를 todo.export.timeout-ms(기본 10분) 안에 쓰지 못하면 연결을 끊는다.
+    // 이미 응답을 쓰기 시작한 뒤라면 chunked 응답의 끝 표시 없이 끊기므로 클라이언트는 불완전한 응답으로 인지함
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTodos(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            HttpServletRequest request
+    ) {
+        log.info("/api/todos/export GET request! - format: {}", format);
+
+        TodoExportFormat exportFormat;
+        try {
+            exportFormat = TodoExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        String userId = userInfo.getUserId();
+        // 톰캣 기본 제한 시간(30초) 대신 내보내기 전용 제한 시간 적용
+        request.setAttribute(StreamingTimeoutInterceptor.TIMEOUT_ATTRIBUTE, exportTimeoutMs);
+        // 응답은 다른 스레드에서 작성되므로 요청 스레드에 지정된 할 일 샤드를 넘겨줌
+        Integer shard = TodoShardContext.current();
+        StreamingResponseBody body = out -> TodoShardContext.runWith(shard,
+                () -> todoExportService.export(userId, exportFormat, out));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("todos." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+
     // 할 일 삭제 요청
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo,
-            @PathVariable("id") String todoId
+            @PathVariable("id") String todoId,
+            @RequestParam(value = "fullList", defaultValue = "false") boolean fullList
     ) {
         log.info("/api/todos/{} DELETE request!", todoId);
 
@@ -75,8 +229,12 @@ public class TodoController {
         }
 
         try {
-            TodoListResponseDTO responseDTO = todoService.delete(todoId, userInfo.getUserId());
-            return ResponseEntity.ok().body(responseDTO);
+            if (fullList) {
+                return ResponseEntity.ok().body(todoService.deleteAndRetrieve(todoId, userInfo.getUserId()));
+            }
+            return ResponseEntity.ok().body(todoService.delete(todoId, userInfo.getUserId()));
+        } catch (ServiceBusyException e) {
+            throw e; // 재배치 중 -> 503 (GlobalExceptionHandler)
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -87,13 +245,21 @@ public class TodoController {
     public ResponseEntity<?> updateTodo(
             @AuthenticationPrincipal TokenUserInfo userInfo,
             @Validated @RequestBody TodoModifyRequestDTO requestDTO,
-            BindingResult result
+            BindingResult result,
+            @RequestParam(value = "fullList", defaultValue = "false") boolean fullList
     ) {
         ResponseEntity<List<FieldError>> validatedResult = getValidatedResult(result);
         if(validatedResult != null) return validatedResult;
 
         try {
+            if (fullList) {
+                return ResponseEntity.ok().body(todoService.updateAndRetrieve(requestDTO, userInfo.getUserId()));
+            }
             return ResponseEntity.ok().body(todoService.update(requestDTO, userInfo.getUserId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ServiceBusyException e) {
+            throw e; // 재배치 중 -> 503 (GlobalExceptionHandler)
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(e.getMessage());
@@ -103,6 +269,68 @@ public class TodoController {
 
 
 
+    // 할 일 일괄 처리 요청 (오프라인 상태에서 쌓인 변경 사항을 한 번에 동기화)
+    // POST: /api/todos/batch
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchTodo(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @Validated @RequestBody TodoBatchRequestDTO requestDTO,
+            BindingResult result
+    ) {
+        log.info("/api/todos/batch POST! - {} operations", requestDTO.getOperations() == null ? 0 : requestDTO.getOperations().size());
+        ResponseEntity<List<FieldError>> validatedResult = getValidatedResult(result);
+        if (validatedResult != null) return validatedResult;
+
+        try {
+            TodoBatchResponseDTO responseDTO = todoService.applyBatch(requestDTO, userInfo.getUserId(), userInfo.getRole());
+            return ResponseEntity.ok().body(responseDTO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(TodoBatchResponseDTO.builder()
+                            .error(e.getMessage())
+                            .build());
+        }
+    }
+
+    // 미완료 할 일 모두 완료 처리 요청
+    // PATCH: /api/todos/complete-all
+    @PatchMapping("/complete-all")
+    public ResponseEntity<?> completeAllTodo(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+    ) {
+        log.info("/api/todos/complete-all PATCH request!");
+        return ResponseEntity.ok().body(todoService.completeAll(userInfo.getUserId()));
+    }
+
+    // 완료된 할 일 모두 삭제 요청
+    // DELETE: /api/todos/completed
+    @DeleteMapping("/completed")
+    public ResponseEntity<?> clearCompletedTodo(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+    ) {
+        log.info("/api/todos/completed DELETE request!");
+        return ResponseEntity.ok().body(todoService.clearCompleted(userInfo.getUserId()));
+    }
+
+    // 목록 버전은 회원마다 따로 증가하므로 회원 id 를 함께 넣어서 다른 회원의 ETag 와 겹치지 않게 함
+    private static String listETag(String userId, long version) {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    // If-None-Match 는 여러 개의 ETag(쉼표 구분) 나 약한 ETag(W/ 접두사), * 로 전달될 수 있음
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // 입력값 검증(Validation)의 결과를 처리해 주는 전역 메서드
     private static ResponseEntity<List<FieldError>> getValidatedResult(BindingResult result) {
         if (result.hasErrors()) { // 입력값 검증 단계에서 문제가 있었다면 true
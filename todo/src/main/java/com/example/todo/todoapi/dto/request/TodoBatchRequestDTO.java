@@ -0,0 +1,44 @@
+package com.example.todo.todoapi.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @ToString
+@EqualsAndHashCode
+@AllArgsConstructor @NoArgsConstructor
+@Builder
+public class TodoBatchRequestDTO {
+
+    // 한 번의 요청으로 처리할 등록/수정/삭제 작업 목록 (요청 순서와 관계없이 등록 -> 수정 -> 삭제 순으로 처리)
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid @NotNull Operation> operations;
+
+    public enum OperationType {
+        CREATE, MODIFY, DELETE
+    }
+
+    @Getter @Setter @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor @NoArgsConstructor
+    @Builder
+    public static class Operation {
+
+        @NotNull
+        private OperationType type;
+
+        private String id; // MODIFY, DELETE 시 대상 할 일 id
+
+        @Size(min = 2, max = 30)
+        private String title; // CREATE 시 할 일 제목
+
+        private boolean done; // MODIFY 시 완료 여부
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.example.todo.todoapi.dto.request;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// 커서 페이징에서 "어디까지 읽었는지" 를 나타내는 값
+// 클라이언트에게는 내용을 알 수 없는 문자열(Base64)로만 전달됩니다.
+@Getter @ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TodoCursor {
+
+    private static final String DELIMITER = "|";
+
+    private LocalDateTime createDate;
+
+    private String todoId;
+
+    public String encode() {
+        String raw = createDate + DELIMITER + todoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(DELIMITER);
+            if (idx < 0) {
+                throw new IllegalArgumentException("잘못된 커서 값입니다.");
+            }
+            String todoId = raw.substring(idx + 1);
+            UUID.fromString(todoId); // id 는 BINARY(16) 으로 변환되므로 미리 형식 검사
+            return new TodoCursor(LocalDateTime.parse(raw.substring(0, idx)), todoId);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서 값입니다.");
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.todo.todoapi.dto.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 할 일 내보내기 형식 (GET: /api/todos/export?format=ndjson|csv)
+@Getter
+@RequiredArgsConstructor
+public enum TodoExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static TodoExportFormat from(String format) {
+        for (TodoExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다. - format: " + format);
+    }
+}
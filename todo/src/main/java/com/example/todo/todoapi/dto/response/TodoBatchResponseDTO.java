@@ -0,0 +1,21 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Setter @Getter @ToString
+@EqualsAndHashCode
+@AllArgsConstructor @NoArgsConstructor
+@Builder
+public class TodoBatchResponseDTO {
+
+    // 일괄 처리 결과를 한 번에 클라이언트로 리턴할 용도로 생성하는 DTO
+
+    private String error; // 에러 발생 시 에러 메세지를 담을 필드
+    private List<TodoDetailResponseDTO> created; // 등록된 할 일 목록
+    private List<TodoDetailResponseDTO> modified; // 수정된 할 일 목록
+    private List<String> deleted; // 삭제된 할 일 id 목록
+    private long version; // 일괄 처리가 반영된 후의 할 일 목록 버전
+
+}
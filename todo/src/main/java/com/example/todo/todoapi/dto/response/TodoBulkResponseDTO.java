@@ -0,0 +1,17 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+@Setter @Getter @ToString
+@EqualsAndHashCode
+@AllArgsConstructor @NoArgsConstructor
+@Builder
+public class TodoBulkResponseDTO {
+
+    // 모두 완료 / 완료 항목 삭제 같은 일괄 변경의 결과를 리턴할 용도로 생성하는 DTO
+
+    private String error; // 에러 발생 시 에러 메세지를 담을 필드
+    private int affected; // 변경(또는 삭제)된 할 일 개수
+    private long version; // 일괄 변경이 반영된 후의 할 일 목록 버전
+
+}
@@ -0,0 +1,27 @@
+package com.example.todo.todoapi.dto.response;
+
+import com.example.todo.todoapi.entity.Todo;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 내보내기 한 줄(한 행)에 해당하는 할 일 정보
+@Getter @ToString
+@NoArgsConstructor @AllArgsConstructor
+public class TodoExportDTO {
+
+    private String id;
+
+    private String title;
+
+    private boolean done;
+
+    private LocalDateTime createDate;
+
+    public TodoExportDTO(Todo todo) {
+        this.id = todo.getTodoId();
+        this.title = todo.getTitle();
+        this.done = todo.isDone();
+        this.createDate = todo.getCreateDate();
+    }
+}
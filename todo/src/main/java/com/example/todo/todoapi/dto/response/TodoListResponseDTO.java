@@ -14,6 +14,8 @@ public class TodoListResponseDTO {
 
     private String error; // 에러 발생 시 에러 메세지를 담을 필드
     private List<TodoDetailResponseDTO> todos; // 할일 목록들
+    private long version; // 할 일 목록 버전
+    private String nextCursor; // 커서 페이징 시 다음 페이지를 요청할 때 사용할 커서 (마지막 페이지라면 null)
 
 
 
@@ -0,0 +1,17 @@
+package com.example.todo.todoapi.dto.response;
+
+import lombok.*;
+
+@Setter @Getter @ToString
+@EqualsAndHashCode
+@AllArgsConstructor @NoArgsConstructor
+@Builder
+public class TodoMutationResponseDTO {
+
+    // 할 일 등록/수정/삭제 후 전체 목록 대신 변경된 할 일 하나만 클라이언트로 리턴할 용도로 생성하는 DTO
+
+    private String error; // 에러 발생 시 에러 메세지를 담을 필드
+    private TodoDetailResponseDTO todo; // 등록/수정/삭제된 할 일
+    private long version; // 변경이 반영된 후의 할 일 목록 버전
+
+}
@@ -1,5 +1,7 @@
 package com.example.todo.todoapi.entity;
 
+import com.example.todo.jpa.TimeOrderedUuid;
+import com.example.todo.jpa.UuidBinaryConverter;
 import com.example.todo.userapi.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,11 +14,16 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @Builder
 @Entity
-@Table(name = "tbl_todo")
+// 커서 페이징 (user_id 로 거른 뒤 create_date, todo_id 순으로 탐색) 을 위한 복합 인덱스
+@Table(name = "tbl_todo", indexes = @Index(
+        name = "idx_todo_user_create_date_id",
+        columnList = "user_id, create_date, todo_id"))
 public class Todo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(columnDefinition = "BINARY(16)")
     private String todoId;
 
     @Column(nullable = false, length = 30)
@@ -27,8 +34,10 @@ public class Todo {
     @CreationTimestamp
     private LocalDateTime createDate; // 등록 시간
 
+    // 할 일은 회원과 다른 DB(샤드)에 저장될 수 있으므로 FK 제약 조건은 만들지 않음
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name="user_id")
+    @JoinColumn(name="user_id", columnDefinition = "BINARY(16)",
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
 
@@ -0,0 +1,36 @@
+package com.example.todo.todoapi.entity;
+
+import com.example.todo.jpa.UuidBinaryConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+// 회원별 할 일 관리 정보 (할 일 개수, 목록 버전)
+// 할 일과 같은 DB(샤드)에 저장해야 할 일 등록/삭제와 개수, 버전 변경을 하나의 트랜잭션으로 처리할 수 있다.
+// -> 회원 테이블(tbl_user)과 할 일 테이블이 서로 다른 DB 에 있어도 동작
+// 기존 데이터는 최초 1회 아래 쿼리로 옮겨 주어야 한다.
+// INSERT INTO tbl_todo_owner (user_id, todo_count, todo_version)
+//     SELECT u.user_id, (SELECT COUNT(*) FROM tbl_todo t WHERE t.user_id = u.user_id), 0 FROM tbl_user u;
+@Getter @ToString
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+@Table(name = "tbl_todo_owner")
+public class TodoOwner {
+
+    @Id
+    @Column(name = "user_id", columnDefinition = "BINARY(16)")
+    @Convert(converter = UuidBinaryConverter.class)
+    private String userId;
+
+    // 등록한 할 일 개수 (일반 회원 등록 제한 검사 시 COUNT 쿼리 대신 사용)
+    @ColumnDefault("0")
+    private int todoCount;
+
+    // 할 일 목록 버전 (할 일이 등록/수정/삭제될 때마다 1씩 증가)
+    // 클라이언트는 이 값으로 자신이 가진 목록이 최신인지 판단할 수 있다.
+    @ColumnDefault("0")
+    private long todoVersion;
+
+}
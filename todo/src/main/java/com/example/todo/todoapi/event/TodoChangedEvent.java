@@ -0,0 +1,28 @@
+package com.example.todo.todoapi.event;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+// 할 일이 등록/수정/삭제되었음을 알리는 이벤트 (트랜잭션이 커밋된 후 SSE 로 전달됨)
+@Getter @ToString
+@AllArgsConstructor
+@Builder
+public class TodoChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+        ALL_COMPLETED,    // 모든 할 일 완료 처리 (todo 없음)
+        COMPLETED_CLEARED // 완료된 할 일 전체 삭제 (todo 없음)
+    }
+
+    @JsonIgnore
+    private String userId; // 이벤트를 받을 회원
+
+    private Type type;
+
+    private TodoDetailResponseDTO todo; // 변경된 할 일 (일괄 변경 이벤트는 null)
+
+    private long version; // 변경이 반영된 후의 할 일 목록 버전
+
+}
@@ -0,0 +1,251 @@
+package com.example.todo.todoapi.event;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 역할: 회원별로 열려있는 SSE 연결에 할 일 변경 이벤트를 전달하는 객체
+// - 이벤트는 연결마다 크기가 제한된 버퍼에 쌓이고, 연결마다 가상 스레드 하나가 순서대로 전송한다.
+//   (전송이 막힌 연결은 자기 가상 스레드만 붙잡고 있으므로 다른 회원의 이벤트 전달에 영향이 없다.)
+// - 버퍼가 가득 찰 만큼 받아가지 못하거나, 전송 한 번이 send-timeout-ms 이상 끝나지 않는 느린 연결은 끊어버린다.
+//   (클라이언트는 재연결 후 목록을 다시 조회)
+// - SseEmitter 의 send/complete 는 같은 락을 잡으므로, 막힌 연결을 끊을 때는 SseEmitter 를 건드리지 않고
+//   서블릿 비동기 요청(AsyncContext)을 직접 완료시킨다. 막혀 있던 전송 스레드는 IOException 으로 스스로 빠져나온다.
+@Component
+@Slf4j
+public class TodoEventHub {
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService watchdog;
+
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final long sendTimeoutNanos;
+
+    public TodoEventHub(@Value("${todo.stream.timeout-ms:1800000}") long timeoutMs,
+                        @Value("${todo.stream.buffer-size:64}") int bufferSize,
+                        @Value("${todo.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("todo-sse-", 0).factory());
+
+        // 전송이 오래 끝나지 않는 연결을 주기적으로 찾아서 종료
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-sse-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        long checkIntervalMs = Math.max(100, sendTimeoutMs / 2);
+        watchdog.scheduleWithFixedDelay(this::closeStalled, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 회원의 SSE 연결을 등록
+     * @return - 컨트롤러가 리턴할 SseEmitter
+     */
+    public SseEmitter subscribe(String userId, HttpServletRequest request) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = subscribe(userId, new EmitterSink(emitter, request));
+
+        emitter.onCompletion(() -> discard(subscriber));
+        emitter.onTimeout(() -> discard(subscriber));
+        emitter.onError(e -> discard(subscriber));
+        return emitter;
+    }
+
+    Subscriber subscribe(String userId, EventSink sink) {
+        Subscriber subscriber = new Subscriber(userId, sink, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        // 연결 직후 한 번 전송해서 응답 헤더를 내려보냄
+        subscriber.offer(SseEmitter.event().name("connected").data("ok"));
+        return subscriber;
+    }
+
+    // 트랜잭션이 커밋된 후에만 전송 (롤백된 변경은 전달되지 않음)
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getUserId());
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            SseEmitter.SseEventBuilder sseEvent = SseEmitter.event()
+                    .name("todo")
+                    .id(String.valueOf(event.getVersion()))
+                    .data(event, MediaType.APPLICATION_JSON);
+            if (!subscriber.offer(sseEvent)) {
+                log.warn("SSE 버퍼가 가득 차서 연결을 종료합니다. - user: {}", event.getUserId());
+                abort(subscriber);
+            }
+        }
+    }
+
+    public int connectionCount(String userId) {
+        Set<Subscriber> targets = subscribers.get(userId);
+        return targets == null ? 0 : targets.size();
+    }
+
+    private void closeStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                if (subscriber.isStalled(now)) {
+                    log.warn("SSE 전송이 끝나지 않아 연결을 종료합니다. - user: {}", subscriber.userId);
+                    abort(subscriber);
+                }
+            }
+        }
+    }
+
+    // 워치독이나 요청 스레드에서 연결을 끊을 때 사용
+    // 연결을 끊는 작업은 별도의 가상 스레드에 맡겨서, 끊는 쪽이 막힌 전송을 기다리는 일이 없도록 한다.
+    private void abort(Subscriber subscriber) {
+        if (discard(subscriber)) {
+            dispatcher.execute(subscriber.sink::abort);
+        }
+    }
+
+    // 더 이상 이벤트를 보내지 않도록 연결을 목록에서 제거 (처음 제거한 경우에만 true)
+    private boolean discard(Subscriber subscriber) {
+        if (!subscriber.dead.compareAndSet(false, true)) {
+            return false;
+        }
+        remove(subscriber);
+        subscriber.buffer.clear();
+        return true;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> {
+            if (discard(s)) {
+                s.sink.abort();
+            }
+        }));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    // 연결 하나에 이벤트를 쓰는 통로
+    interface EventSink {
+
+        // 전송이 끝날 때까지 호출한 스레드를 붙잡을 수 있음
+        void send(SseEmitter.SseEventBuilder event) throws IOException;
+
+        // 진행 중인 전송과 상관없이 연결을 끊음 (전송 중인 스레드가 잡은 락을 기다리면 안 된다.)
+        void abort();
+    }
+
+    private record EmitterSink(SseEmitter emitter, HttpServletRequest request) implements EventSink {
+
+        @Override
+        public void send(SseEmitter.SseEventBuilder event) throws IOException {
+            emitter.send(event);
+        }
+
+        @Override
+        public void abort() {
+            // emitter.complete() 는 막혀 있는 send() 와 같은 락을 기다리므로 사용하지 않음
+            try {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().complete();
+                }
+            } catch (IllegalStateException e) {
+                // 이미 완료된 요청
+                log.debug("SSE 연결이 이미 종료되었습니다.");
+            }
+        }
+    }
+
+    // SSE 연결 하나와 그 연결의 전송 대기 버퍼
+    class Subscriber {
+
+        private final String userId;
+        private final EventSink sink;
+        private final Queue<SseEmitter.SseEventBuilder> buffer;
+        // 연결이 끊겨서 더 이상 전송하지 않는지 여부
+        private final AtomicBoolean dead = new AtomicBoolean(false);
+        // 전송 작업이 이미 예약되어 있는지 여부 (한 연결은 한 번에 하나의 스레드만 전송)
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        // 진행 중인 전송의 시작 시간 (전송 중이 아니라면 0)
+        private volatile long sendStartedAt;
+
+        Subscriber(String userId, EventSink sink, Queue<SseEmitter.SseEventBuilder> buffer) {
+            this.userId = userId;
+            this.sink = sink;
+            this.buffer = buffer;
+        }
+
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStartedAt;
+            return started != 0 && now - started > sendTimeoutNanos;
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dead.get() && (event = buffer.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    sink.send(event);
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊은 경우
+                log.debug("SSE 전송 실패 - user: {}", userId);
+                discard(this);
+                return;
+            } finally {
+                sendStartedAt = 0;
+                scheduled.set(false);
+            }
+            // 전송을 마치는 사이에 새로 들어온 이벤트가 있다면 다시 예약
+            if (!dead.get() && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.todo.todoapi.event;
+
+import com.example.todo.cache.ExpiringLruCache;
+import com.example.todo.todoapi.repository.TodoOwnerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+
+// 역할: 회원별 할 일 목록 버전을 메모리에 보관하는 객체
+// 목록 조회 시 If-None-Match 로 전달된 ETag 와 비교해서, 변경이 없다면 목록 쿼리 없이 304 를 응답할 수 있게 한다.
+// - 할 일이 변경되면 커밋 후 발행되는 이벤트로 버전을 갱신
+// - 다른 서버 인스턴스에서 발생한 변경을 놓치지 않도록 일정 시간이 지나면 DB 에서 다시 읽는다.
+@Component
+public class TodoVersionCache {
+
+    private final TodoOwnerRepository todoOwnerRepository;
+
+    private final long ttlMs;
+
+    private final ExpiringLruCache<String, Long> cache;
+
+    public TodoVersionCache(TodoOwnerRepository todoOwnerRepository,
+                            @Value("${todo.etag.version-ttl-ms:5000}") long ttlMs,
+                            @Value("${todo.etag.max-size:100000}") int maxSize) {
+        this.todoOwnerRepository = todoOwnerRepository;
+        this.ttlMs = ttlMs;
+        this.cache = new ExpiringLruCache<>(maxSize);
+    }
+
+    /**
+     * 회원의 현재 할 일 목록 버전을 조회
+     * 캐시에 없거나 만료된 경우에만 DB 에서 버전 컬럼 하나를 읽는다. (목록 쿼리는 실행하지 않음)
+     */
+    public long get(String userId) {
+        Long cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Long version = todoOwnerRepository.findTodoVersion(userId);
+        long current = version == null ? 0L : version;
+        update(userId, current);
+        return current;
+    }
+
+    // 목록 버전은 증가만 하므로 더 큰 값으로만 갱신 (늦게 도착한 이전 버전이 덮어쓰지 않도록)
+    public void update(String userId, long version) {
+        cache.merge(userId, version, System.currentTimeMillis() + ttlMs, Math::max);
+    }
+
+    // 트랜잭션이 커밋된 후에만 반영 (롤백된 변경으로 버전이 바뀌지 않도록)
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        update(event.getUserId(), event.getVersion());
+    }
+
+}
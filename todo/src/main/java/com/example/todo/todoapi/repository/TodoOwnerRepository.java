@@ -0,0 +1,51 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.jpa.UuidBinaryConverter;
+import com.example.todo.todoapi.entity.TodoOwner;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TodoOwnerRepository extends JpaRepository<TodoOwner, String> {
+
+    UuidBinaryConverter ID_CONVERTER = new UuidBinaryConverter();
+
+    // 회원의 관리 정보 행이 없다면 생성 (동시에 여러 요청이 들어와도 중복 키 에러가 나지 않도록 INSERT IGNORE)
+    // 네이티브 쿼리에는 컨버터가 적용되지 않으므로 BINARY(16) 값으로 변환해서 전달
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tbl_todo_owner (user_id, todo_count, todo_version) VALUES (:userId, 0, 0)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") byte[] userId);
+
+    default void createIfAbsent(String userId) {
+        insertIfAbsent(ID_CONVERTER.convertToDatabaseColumn(userId));
+    }
+
+    // 할 일 목록 버전을 1 증가 (동시 요청에도 값이 유실되지 않도록 DB 에서 직접 증가시킴)
+    @Modifying
+    @Query("UPDATE TodoOwner o SET o.todoVersion = o.todoVersion + 1 WHERE o.userId = :userId")
+    int increaseTodoVersion(@Param("userId") String userId);
+
+    // 할 일 개수를 amount 만큼 증가 - 증가 후 limit 이하일 때만 증가
+    // 조건 검사와 증가를 하나의 UPDATE 로 처리하므로 동시에 등록 요청이 들어와도 limit 을 넘을 수 없다.
+    // 리턴값이 0 이면 제한에 걸린 것
+    @Modifying
+    @Query("UPDATE TodoOwner o SET o.todoCount = o.todoCount + :amount" +
+            " WHERE o.userId = :userId AND o.todoCount + :amount <= :limit")
+    int increaseTodoCount(@Param("userId") String userId,
+                          @Param("amount") int amount,
+                          @Param("limit") int limit);
+
+    // 할 일 개수를 amount 만큼 감소
+    // 개수가 실제보다 적게 기록되어 있더라도 감소를 건너뛰지 않고 0 에서 멈춤 (건너뛰면 어긋난 값이 계속 남음)
+    @Modifying
+    @Query("UPDATE TodoOwner o SET o.todoCount = CASE WHEN o.todoCount >= :amount THEN o.todoCount - :amount ELSE 0 END" +
+            " WHERE o.userId = :userId")
+    int decreaseTodoCount(@Param("userId") String userId, @Param("amount") int amount);
+
+    // 할 일 목록 버전만 조회 (영속성 컨텍스트에 남아있는 엔터티 값이 아닌 DB 의 최신 값)
+    @Query("SELECT o.todoVersion FROM TodoOwner o WHERE o.userId = :userId")
+    Long findTodoVersion(@Param("userId") String userId);
+
+}
@@ -0,0 +1,19 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.dto.request.TodoCursor;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 페이징으로 조회한 한 페이지의 할 일 목록과 다음 페이지 커서
+@Getter
+@AllArgsConstructor
+public class TodoPage {
+
+    private final List<TodoDetailResponseDTO> todos;
+
+    private final TodoCursor nextCursor; // 마지막 페이지라면 null
+
+}
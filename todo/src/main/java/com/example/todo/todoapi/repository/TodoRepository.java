@@ -2,14 +2,19 @@ package com.example.todo.todoapi.repository;
 
 import com.example.todo.todoapi.entity.Todo;
 import com.example.todo.userapi.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface TodoRepository extends JpaRepository<Todo, String> {
+public interface TodoRepository extends JpaRepository<Todo, String>, TodoRepositoryCustom {
 
     // 특정 회원의 할 일 목록 리턴
     // native : SELECT * FROM tbl_todo WHERE user_id = ?
@@ -17,6 +22,28 @@ public interface TodoRepository extends JpaRepository<Todo, String> {
     @Query("SELECT t FROM Todo t WHERE t.user = :user")
     List<Todo> findAllByUser(@Param("user") User user);
 
+    // 내보내기용 - 결과를 List 로 모으지 않고 한 행씩 읽어오는 스트림
+    // MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때 전방 전용 커서로 한 행씩 전송함
+    // 반드시 트랜잭션 안에서 사용하고 다 읽은 뒤 close 해야 함
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Todo t WHERE t.user.id = :userId ORDER BY t.createDate ASC, t.todoId ASC")
+    Stream<Todo> streamAllByUserId(@Param("userId") String userId);
+
+    // 회원의 미완료 할 일을 UPDATE 문 하나로 모두 완료 처리
+    // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 실행 전 flush, 실행 후 clear 해서 오래된 엔터티가 남지 않게 함
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.done = true WHERE t.user.id = :userId AND t.done = false")
+    int completeAllByUserId(@Param("userId") String userId);
+
+    // 회원의 완료된 할 일을 DELETE 문 하나로 모두 삭제
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.user.id = :userId AND t.done = true")
+    int deleteCompletedByUserId(@Param("userId") String userId);
+
     // 회원이 작성한 일정의 개수를 리턴
     @Query("SELECT COUNT(*) FROM Todo t WHERE t.user = :user")
     int countByUser(@Param("user") User user);
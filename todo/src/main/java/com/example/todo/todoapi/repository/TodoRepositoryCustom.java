@@ -0,0 +1,16 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.dto.request.TodoCursor;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+
+import java.util.List;
+
+public interface TodoRepositoryCustom {
+
+    // 특정 회원의 할 일 목록을 엔터티가 아닌 DTO 로 바로 조회
+    List<TodoDetailResponseDTO> findAllDtoByUserId(String userId);
+
+    // 특정 회원의 할 일 목록을 커서 기반으로 limit 개씩 DTO 로 바로 조회 (after 가 null 이면 첫 페이지)
+    TodoPage findPageDtoByUserId(String userId, TodoCursor after, int limit);
+
+}
@@ -0,0 +1,77 @@
+package com.example.todo.todoapi.repository;
+
+import com.example.todo.todoapi.dto.request.TodoCursor;
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.todo.todoapi.entity.QTodo.todo;
+
+// QueryDSL 용 인터페이스의 구현체는 반드시 이름이 Impl 로 끝나야 자동으로 인식이 되어서
+// 기본 인터페이스 타입(TodoRepository)의 객체로도 사용이 가능
+@RequiredArgsConstructor
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<TodoDetailResponseDTO> findAllDtoByUserId(String userId) {
+        // 필요한 컬럼만 SELECT 해서 DTO 생성자로 바로 전달
+        // -> 엔터티가 영속성 컨텍스트에 올라가지 않으므로 스냅샷 생성, 변경 감지 비용이 없다.
+        // user_id 는 tbl_todo 의 FK 컬럼이므로 tbl_user 와 조인하지 않는다.
+        return queryFactory
+                .select(Projections.constructor(TodoDetailResponseDTO.class,
+                        todo.todoId,
+                        todo.title,
+                        todo.done))
+                .from(todo)
+                .where(todo.user.id.eq(userId))
+                .fetch();
+    }
+
+    @Override
+    public TodoPage findPageDtoByUserId(String userId, TodoCursor after, int limit) {
+        // 목록과 같이 필요한 컬럼만 SELECT 하고, 다음 커서를 만들기 위해 create_date 만 추가로 조회
+        // (user_id, create_date, todo_id) 인덱스 순서대로 커서 바로 뒤부터 탐색하므로 몇 번째 페이지든 비용이 같다.
+        // 다음 페이지가 있는지 확인하기 위해 하나 더 조회
+        List<Tuple> rows = queryFactory
+                .select(todo.todoId, todo.title, todo.done, todo.createDate)
+                .from(todo)
+                .where(todo.user.id.eq(userId), afterCursor(after))
+                .orderBy(todo.createDate.asc(), todo.todoId.asc())
+                .limit(limit + 1)
+                .fetch();
+
+        TodoCursor nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Tuple last = rows.get(limit - 1);
+            nextCursor = new TodoCursor(last.get(todo.createDate), last.get(todo.todoId));
+        }
+
+        List<TodoDetailResponseDTO> dtoList = rows.stream()
+                .map(row -> new TodoDetailResponseDTO(
+                        row.get(todo.todoId),
+                        row.get(todo.title),
+                        Boolean.TRUE.equals(row.get(todo.done))))
+                .collect(Collectors.toList());
+
+        return new TodoPage(dtoList, nextCursor);
+    }
+
+    // 마지막으로 받은 할 일의 (createDate, todoId) 바로 뒤 (커서가 없다면 조건 없음 -> 첫 페이지)
+    private static BooleanExpression afterCursor(TodoCursor after) {
+        if (after == null) {
+            return null;
+        }
+        return todo.createDate.gt(after.getCreateDate())
+                .or(todo.createDate.eq(after.getCreateDate()).and(todo.todoId.gt(after.getTodoId())));
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.example.todo.todoapi.search;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.event.TodoVersionCache;
+import com.example.todo.todoapi.repository.TodoOwnerRepository;
+import com.example.todo.todoapi.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 역할: 회원별 할 일 제목 역색인(TodoTitleIndex)을 메모리에 관리하는 객체
+// - 회원이 처음 검색할 때 DB 에서 한 번 읽어서 색인을 만든다. (검색하지 않는 회원은 메모리를 쓰지 않음)
+// - 이후에는 커밋된 할 일 변경 이벤트로 색인을 조금씩 갱신
+// - 전체 색인의 추정 메모리가 예산을 넘으면 가장 오래 사용하지 않은 회원의 색인부터 제거 (LRU)
+// - 다른 인스턴스에서 변경되어 목록 버전이 앞서 있다면 색인을 다시 만든다.
+// - 잠금은 회원 단위: 색인 목록(LRU 순서)의 락은 찾기/등록/제거하는 동안만 잡고,
+//   색인 변경과 검색은 그 회원의 색인 락만 잡으므로 한 회원의 변경이 다른 회원의 이벤트, 검색을 막지 않는다.
+//   (락 순서는 항상 색인 목록 -> 회원 색인)
+@Component
+@Slf4j
+public class TodoSearchIndex {
+
+    private final TodoRepository todoRepository;
+    private final TodoOwnerRepository todoOwnerRepository;
+    private final TodoVersionCache todoVersionCache;
+
+    private final long memoryBudgetBytes;
+
+    // accessOrder = true -> 조회할 때마다 맨 뒤로 이동하므로 맨 앞이 가장 오래 사용하지 않은 색인
+    private final LinkedHashMap<String, Entry> indexes = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    // 회원 한 명의 색인 (이 객체의 락이 회원 단위 락)
+    private static final class Entry {
+
+        private final TodoTitleIndex index;
+
+        // 색인 목록에서 제거된 후에는 변경을 반영하지 않음 (제거할 때 이미 메모리 추정치에서 뺐으므로)
+        private boolean detached;
+
+        Entry(TodoTitleIndex index) {
+            this.index = index;
+        }
+    }
+
+    public TodoSearchIndex(TodoRepository todoRepository,
+                           TodoOwnerRepository todoOwnerRepository,
+                           TodoVersionCache todoVersionCache,
+                           @Value("${todo.search.memory-budget-bytes:67108864}") long memoryBudgetBytes) {
+        this.todoRepository = todoRepository;
+        this.todoOwnerRepository = todoOwnerRepository;
+        this.todoVersionCache = todoVersionCache;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    public List<TodoDetailResponseDTO> search(String userId, String query, int limit) {
+        Entry entry = getOrBuild(userId);
+        synchronized (entry) {
+            return entry.index.search(query, limit);
+        }
+    }
+
+    // 트랜잭션이 커밋된 후에만 반영, 색인이 아직 없는 회원은 무시 (첫 검색 때 DB 에서 만들어짐)
+    // 커밋 후 이벤트는 커밋 순서대로 도착한다는 보장이 없으므로 버전이 이어지는 이벤트만 반영한다.
+    // - 색인보다 이전 버전: 이미 반영된 변경이므로 무시
+    // - 색인과 같은 버전: 방금 반영한 일괄 처리의 나머지 이벤트 (같은 트랜잭션은 같은 버전)
+    // - 색인 버전 + 1: 다음 변경
+    // - 그보다 큰 버전: 중간 변경이 아직 도착하지 않음 -> 순서를 맞출 수 없으므로 색인을 버리고 다음 검색에서 다시 만든다.
+    // 버전 순서 판단과 색인 변경은 그 회원의 색인 락 안에서 수행
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        Entry entry;
+        synchronized (indexes) {
+            entry = indexes.get(event.getUserId());
+        }
+        if (entry == null) {
+            return;
+        }
+
+        boolean outOfOrder;
+        synchronized (entry) {
+            if (entry.detached) {
+                return;
+            }
+            TodoTitleIndex index = entry.index;
+            long version = event.getVersion();
+            if (version < index.getVersion()) {
+                return;
+            }
+            outOfOrder = version > index.getVersion() + 1;
+            if (outOfOrder) {
+                log.debug("할 일 검색 색인 제거 (변경 순서 어긋남) - userId: {}, index: {}, event: {}",
+                        event.getUserId(), index.getVersion(), version);
+            } else {
+                long before = index.getEstimatedBytes();
+                switch (event.getType()) {
+                    case CREATED, UPDATED -> index.put(event.getTodo());
+                    case DELETED -> index.remove(event.getTodo().getId());
+                    case ALL_COMPLETED -> index.completeAll();
+                    case COMPLETED_CLEARED -> index.removeCompleted();
+                }
+                index.advanceVersion(version);
+                totalBytes.addAndGet(index.getEstimatedBytes() - before);
+            }
+        }
+
+        // 회원 색인 락을 놓은 뒤 색인 목록 락을 잡음 (락 순서)
+        synchronized (indexes) {
+            if (outOfOrder) {
+                indexes.remove(event.getUserId(), entry);
+                detach(entry);
+            }
+            evictOverBudget();
+        }
+    }
+
+    private Entry getOrBuild(String userId) {
+        long currentVersion = todoVersionCache.get(userId);
+        synchronized (indexes) {
+            Entry entry = indexes.get(userId);
+            if (entry != null && versionOf(entry) >= currentVersion) {
+                return entry;
+            }
+        }
+
+        // 색인 생성은 락 밖에서 수행 (다른 회원의 검색을 막지 않도록)
+        // 버전을 먼저 읽고 목록을 읽으므로, 그 사이 변경이 있었다면 다음 검색에서 다시 만들어짐
+        Long version = todoOwnerRepository.findTodoVersion(userId);
+        TodoTitleIndex built = new TodoTitleIndex(version == null ? 0L : version);
+        for (TodoDetailResponseDTO todo : todoRepository.findAllDtoByUserId(userId)) {
+            built.put(todo);
+        }
+        log.debug("할 일 검색 색인 생성 - userId: {}, count: {}, bytes: {}", userId, built.size(), built.getEstimatedBytes());
+
+        Entry entry = new Entry(built);
+        synchronized (indexes) {
+            Entry previous = indexes.put(userId, entry);
+            if (previous != null) {
+                detach(previous);
+            }
+            totalBytes.addAndGet(built.getEstimatedBytes());
+            evictOverBudget();
+        }
+        return entry;
+    }
+
+    // 예산을 넘는 동안 가장 오래 사용하지 않은 색인부터 제거 (방금 만든 색인 하나는 남김)
+    // 색인 목록 락을 잡은 상태에서 호출
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Entry>> iterator = indexes.entrySet().iterator();
+        while (totalBytes.get() > memoryBudgetBytes && indexes.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            detach(eldest.getValue());
+            log.debug("할 일 검색 색인 제거 (메모리 예산 초과) - userId: {}", eldest.getKey());
+        }
+    }
+
+    // 색인 목록에서 뺀 색인을 더 이상 변경하지 않도록 표시하고 메모리 추정치에서 제외
+    private void detach(Entry entry) {
+        synchronized (entry) {
+            if (!entry.detached) {
+                entry.detached = true;
+                totalBytes.addAndGet(-entry.index.getEstimatedBytes());
+            }
+        }
+    }
+
+    private static long versionOf(Entry entry) {
+        synchronized (entry) {
+            return entry.index.getVersion();
+        }
+    }
+
+}
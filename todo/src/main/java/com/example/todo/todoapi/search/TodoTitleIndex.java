@@ -0,0 +1,238 @@
+package com.example.todo.todoapi.search;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 역할: 한 회원의 할 일 제목으로 만든 역색인 (n-gram -> 할 일 id 목록)
+// - 제목을 공백 기준으로 단어로 나누고, 단어마다 1글자(unigram)와 2글자(bigram) 조각을 색인
+//   한글은 형태소 분석 없이도 2글자 조각만으로 부분 검색("장보기" -> "장보", "보기")이 가능
+// - 검색어의 조각들이 모두 들어있는 할 일만 후보로 고르고, 실제로 단어가 포함되는지 한 번 더 확인
+// 동기화는 이 객체를 사용하는 쪽(TodoSearchIndex)에서 담당
+class TodoTitleIndex {
+
+    // 메모리 사용량 추정치 (JVM 객체 헤더, 참조, HashMap 엔트리 크기를 대략 반영)
+    private static final long DOC_OVERHEAD_BYTES = 200;
+    private static final long GRAM_OVERHEAD_BYTES = 120;
+    private static final long POSTING_BYTES = 40;
+
+    private final Map<String, Doc> docs = new HashMap<>();
+    private final NavigableMap<Long, Doc> ordered = new TreeMap<>(); // 등록 순서로 정렬된 할 일
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    private long version; // 색인에 반영된 할 일 목록 버전
+    private long estimatedBytes;
+    private long sequence; // 색인에 추가된 순서 (검색 결과를 등록 순으로 정렬하기 위함)
+
+    // 색인에 보관하는 할 일 정보 (이벤트의 DTO 를 그대로 보관하지 않고 복사해 둠)
+    private static class Doc {
+        private final String id;
+        private final String title;
+        private final String normalized;
+        private final long seq;
+        private boolean done;
+
+        private Doc(TodoDetailResponseDTO todo, String normalized, long seq) {
+            this.id = todo.getId();
+            this.title = todo.getTitle();
+            this.done = todo.isDone();
+            this.normalized = normalized;
+            this.seq = seq;
+        }
+
+        private long bytes() {
+            return DOC_OVERHEAD_BYTES + 2L * (title.length() + normalized.length());
+        }
+
+        private TodoDetailResponseDTO toDto() {
+            return new TodoDetailResponseDTO(id, title, done);
+        }
+    }
+
+    TodoTitleIndex(long version) {
+        this.version = version;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    void advanceVersion(long version) {
+        this.version = Math.max(this.version, version);
+    }
+
+    long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    int size() {
+        return docs.size();
+    }
+
+    void put(TodoDetailResponseDTO todo) {
+        Doc previous = docs.get(todo.getId());
+        if (previous != null && previous.title.equals(todo.getTitle())) {
+            previous.done = todo.isDone(); // 제목이 같다면 색인 조각은 그대로
+            return;
+        }
+        remove(todo.getId());
+
+        Doc doc = new Doc(todo, normalize(todo.getTitle()),
+                previous == null ? sequence++ : previous.seq);
+        docs.put(doc.id, doc);
+        ordered.put(doc.seq, doc);
+        estimatedBytes += doc.bytes();
+
+        for (String gram : grams(doc.normalized)) {
+            Set<String> ids = postings.get(gram);
+            if (ids == null) {
+                ids = new HashSet<>();
+                postings.put(gram, ids);
+                estimatedBytes += GRAM_OVERHEAD_BYTES + 2L * gram.length();
+            }
+            if (ids.add(doc.id)) {
+                estimatedBytes += POSTING_BYTES;
+            }
+        }
+    }
+
+    void remove(String todoId) {
+        Doc removed = docs.remove(todoId);
+        if (removed == null) {
+            return;
+        }
+        ordered.remove(removed.seq);
+        estimatedBytes -= removed.bytes();
+
+        for (String gram : grams(removed.normalized)) {
+            Set<String> ids = postings.get(gram);
+            if (ids != null && ids.remove(todoId)) {
+                estimatedBytes -= POSTING_BYTES;
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                    estimatedBytes -= GRAM_OVERHEAD_BYTES + 2L * gram.length();
+                }
+            }
+        }
+    }
+
+    // 제목은 그대로 두고 완료 여부만 바뀌는 경우 (색인 조각은 변하지 않음)
+    void completeAll() {
+        docs.values().forEach(doc -> doc.done = true);
+    }
+
+    void removeCompleted() {
+        List<String> completed = docs.values().stream()
+                .filter(doc -> doc.done)
+                .map(doc -> doc.id)
+                .toList();
+        completed.forEach(this::remove);
+    }
+
+    List<TodoDetailResponseDTO> search(String query, int limit) {
+        List<String> words = words(normalize(query));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        // 가장 짧은 posting 목록을 후보로 삼고, 나머지 목록에도 있는지 확인
+        List<Set<String>> lists = new ArrayList<>();
+        for (String word : words) {
+            for (String gram : wordGrams(word)) {
+                Set<String> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        // 후보가 적다면 후보만 확인해서 정렬하고,
+        // 후보가 많다면(흔한 검색어) 등록 순서대로 훑다가 limit 개를 찾으면 바로 멈춤
+        if (lists.get(0).size() * 8L < docs.size()) {
+            List<Doc> matched = new ArrayList<>();
+            for (String id : lists.get(0)) {
+                Doc doc = docs.get(id);
+                if (matches(doc, lists, words)) matched.add(doc);
+            }
+            matched.sort(Comparator.comparingLong(doc -> doc.seq));
+            return matched.stream().limit(limit).map(Doc::toDto).toList();
+        }
+
+        List<TodoDetailResponseDTO> result = new ArrayList<>();
+        for (Doc doc : ordered.values()) {
+            if (result.size() >= limit) break;
+            if (lists.get(0).contains(doc.id) && matches(doc, lists, words)) {
+                result.add(doc.toDto());
+            }
+        }
+        return result;
+    }
+
+    // bigram 이 모두 있어도 순서가 다를 수 있으므로 실제 포함 여부까지 확인
+    private static boolean matches(Doc doc, List<Set<String>> lists, List<String> words) {
+        if (!containsAll(lists, doc.id)) return false;
+        for (String word : words) {
+            if (!doc.normalized.contains(word)) return false;
+        }
+        return true;
+    }
+
+    private static boolean containsAll(List<Set<String>> lists, String id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) return false;
+        }
+        return true;
+    }
+
+    // 전각/반각, 조합형 한글 등을 하나의 형태로 맞추고 소문자로 변환
+    static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+    }
+
+    static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split("\\s+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(normalized)) {
+            for (int i = 0; i < word.length(); i++) {
+                grams.add(word.substring(i, i + 1));
+                if (i + 1 < word.length()) {
+                    grams.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    // 검색어 단어를 찾기 위해 확인해야 할 조각 (1글자는 unigram, 그 외는 bigram)
+    private static List<String> wordGrams(String word) {
+        if (word.length() == 1) {
+            return List.of(word);
+        }
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 1 < word.length(); i++) {
+            grams.add(word.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
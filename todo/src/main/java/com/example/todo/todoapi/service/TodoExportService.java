@@ -0,0 +1,91 @@
+package com.example.todo.todoapi.service;
+
+import com.example.todo.todoapi.dto.request.TodoExportFormat;
+import com.example.todo.todoapi.dto.response.TodoExportDTO;
+import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 회원의 할 일 전체를 응답 스트림으로 바로 내보내는 서비스
+// 한 행 읽고 -> 한 줄 쓰고 -> 영속성 컨텍스트에서 분리하므로 할 일이 아무리 많아도 메모리 사용량이 일정함
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TodoExportService {
+
+    private static final String CSV_HEADER = "id,title,done,createDate";
+
+    private final TodoRepository todoRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // StreamingResponseBody 는 요청 스레드가 아닌 비동기 스레드에서 실행되므로 여기서 트랜잭션을 새로 연다.
+    @Transactional(readOnly = true)
+    public void export(String userId, TodoExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TodoExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Todo> todos = todoRepository.streamAllByUserId(userId)) {
+            Iterator<Todo> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                TodoExportDTO row = new TodoExportDTO(todo);
+                entityManager.detach(todo);
+
+                if (format == TodoExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("할 일 내보내기 완료 - userId: {}, format: {}, count: {}", userId, format, count);
+    }
+
+    private void writeCsv(Writer writer, TodoExportDTO row) throws IOException {
+        writer.write(row.getId());
+        writer.write(',');
+        writer.write(csvText(row.getTitle()));
+        writer.write(',');
+        writer.write(String.valueOf(row.isDone()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCreateDate()));
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고,
+    // 스프레드시트에서 수식으로 해석될 수 있는 값(=, +, -, @ 로 시작)은 앞에 ' 를 붙임
+    private String csvText(String value) {
+        if (value == null) return "";
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.todo.todoapi.service;
 
+import com.example.todo.todoapi.dto.request.TodoBatchRequestDTO;
 import com.example.todo.todoapi.dto.request.TodoCreateRequestDTO;
+import com.example.todo.todoapi.dto.request.TodoCursor;
 import com.example.todo.todoapi.dto.request.TodoModifyRequestDTO;
+import com.example.todo.todoapi.dto.response.TodoBatchResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoBulkResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
 import com.example.todo.todoapi.dto.response.TodoListResponseDTO;
+import com.example.todo.todoapi.dto.response.TodoMutationResponseDTO;
 import com.example.todo.todoapi.entity.Todo;
+import com.example.todo.todoapi.event.TodoChangedEvent;
+import com.example.todo.todoapi.repository.TodoOwnerRepository;
+import com.example.todo.todoapi.repository.TodoPage;
 import com.example.todo.todoapi.repository.TodoRepository;
+import com.example.todo.todoapi.shard.TodoShardContext;
+import com.example.todo.todoapi.shard.TodoShardDirectory;
 import com.example.todo.userapi.entity.Role;
 import com.example.todo.userapi.entity.User;
 import com.example.todo.userapi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,79 +43,302 @@ public class TodoService {
 
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final TodoOwnerRepository todoOwnerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // 할 일 샤딩을 사용할 때만 존재
+    private final ObjectProvider<TodoShardDirectory> todoShardDirectory;
 
-    public TodoListResponseDTO create(
+    // 일반 회원이 등록할 수 있는 최대 할 일 개수
+    private static final int COMMON_TODO_LIMIT = 5;
+
+    public TodoMutationResponseDTO create(
             final TodoCreateRequestDTO requestDTO,
-            final String userId) {
+            final String userId,
+            final Role role) {
 
         // 이제는 할 일 등록은 회원만 할 수 있도록 세팅하기 때문에
-        // toEntity의 매개값으로 User 엔터티도 함께 전달해야 합니다. -> userId로 회원 엔터티를 조회해야 함.
-        User user = getUser(userId);
+        // toEntity의 매개값으로 User 엔터티도 함께 전달해야 합니다.
+        // -> FK 값(user_id)만 있으면 되므로 회원을 SELECT 하지 않고 프록시만 얻어옴
+        User user = getUserReference(userId);
 
         // 권한에 따른 글쓰기 제한 처리
         // 일반 회원이 일정을 5개 초과해서 작성하면 예외를 발생.
-        if (user.getRole() == Role.COMMON
-                && todoRepository.countByUser(user) >= 5) {
-            throw new IllegalArgumentException("일반회원은 더 이상 일정을 등록할 수 없습니다.");
-        }
+        reserveTodoSlots(userId, role, 1);
 
-        todoRepository.save(requestDTO.toEntity(user));
+        Todo saved = todoRepository.save(requestDTO.toEntity(user));
         log.info("할 일 저장 완료! 제목: {}", requestDTO.getTitle());
-        // 할 일 저장이 끝나면 목록을 불러오는데, 지금까지는 그냥 전부 다 갖고 왔어도 된다.
-        // 이제는 회원별로 할 일을 등록하기 때문에, 방금 할 일을 추가한 그 회원의 목록을 가져와야 합니다.
+        // 할 일 저장이 끝나면 목록 전체를 다시 불러오지 않고, 방금 저장한 할 일과 변경된 목록 버전만 리턴합니다.
+        // 전체 목록이 필요한 경우에는 createAndRetrieve 를 사용합니다.
+        return toMutationResponse(saved, userId, TodoChangedEvent.Type.CREATED);
+    }
+
+    // 변경 후 전체 목록 응답 (?fullList=true)
+    // 변경과 같은 트랜잭션 안에서 목록을 조회해야 목록과 버전이 변경 직후의 상태와 정확히 일치한다.
+    // (커밋 후 따로 조회하면 그 사이의 다른 변경이 섞이거나, 아직 반영되지 않은 복제 DB 를 읽을 수 있음)
+    public TodoListResponseDTO createAndRetrieve(
+            final TodoCreateRequestDTO requestDTO,
+            final String userId,
+            final Role role) {
+        create(requestDTO, userId, role);
+        return retrieve(userId);
+    }
+
+    public TodoListResponseDTO deleteAndRetrieve(final String todoId, final String userId) throws Exception {
+        delete(todoId, userId);
+        return retrieve(userId);
+    }
+
+    public TodoListResponseDTO updateAndRetrieve(final TodoModifyRequestDTO requestDTO, final String userId) throws Exception {
+        update(requestDTO, userId);
         return retrieve(userId);
     }
 
 
     // 할 일 목록 가져오기
+    // 조회 전용 트랜잭션 -> flush 시점에 변경 감지를 하지 않음
+    @Transactional(readOnly = true)
     public TodoListResponseDTO retrieve(String userId) {
 
-        // 로그인 한 유저의 정보를 데이터베이스에서 조회
-        User user = getUser(userId);
+        // 엔터티를 조회해서 DTO 로 변환하지 않고, QueryDSL 프로젝션으로 DTO 를 바로 조회
+        List<TodoDetailResponseDTO> dtoList = todoRepository.findAllDtoByUserId(userId);
+
+        return TodoListResponseDTO.builder()
+                .todos(dtoList)
+                .version(getTodoVersion(userId))
+                .build();
+
+    }
 
-        List<Todo> entityList = todoRepository.findAllByUser(user);
+    // 할 일 목록을 커서 기반으로 limit 개씩 가져오기
+    @Transactional(readOnly = true)
+    public TodoListResponseDTO retrievePage(String userId, String after, int limit) {
 
-        List<TodoDetailResponseDTO> dtoList = entityList.stream()
-//                .map(entity -> new TodoDetailResponseDTO(entity))
-                .map(TodoDetailResponseDTO::new)
-                .collect(Collectors.toList());
+        TodoCursor cursor = (after == null || after.isBlank()) ? null : TodoCursor.decode(after);
+
+        // 전체 목록과 마찬가지로 엔터티가 아닌 DTO 로 바로 조회
+        TodoPage page = todoRepository.findPageDtoByUserId(userId, cursor, limit);
 
         return TodoListResponseDTO.builder()
-                .todos(dtoList)
+                .todos(page.getTodos())
+                .version(getTodoVersion(userId))
+                .nextCursor(page.getNextCursor() == null ? null : page.getNextCursor().encode())
                 .build();
+    }
+
+    public TodoMutationResponseDTO delete(final String todoId, final String userId) throws Exception {
+
+        // 본인 소유가 아니라면 목록 버전을 올리거나 이벤트를 발행하기 전에 거절
+        Todo todo = findOwnedTodo(todoId, userId);
+        todoRepository.delete(todo);
+        todoOwnerRepository.decreaseTodoCount(userId, 1);
+
+        return toMutationResponse(todo, userId, TodoChangedEvent.Type.DELETED);
+    }
 
+    public TodoMutationResponseDTO update(final TodoModifyRequestDTO requestDTO, final String userId) throws Exception {
+        Todo todo = findOwnedTodo(requestDTO.getId(), userId);
+
+        todo.setDone(requestDTO.isDone());
+        todoRepository.save(todo);
+
+        return toMutationResponse(todo, userId, TodoChangedEvent.Type.UPDATED);
     }
 
-    public TodoListResponseDTO delete(final String todoId, final String userId) throws Exception {
+    // 여러 건의 등록/수정/삭제를 하나의 트랜잭션으로 처리
+    // 하나라도 실패하면 전체가 롤백된다.
+    public TodoBatchResponseDTO applyBatch(final TodoBatchRequestDTO requestDTO, final String userId, final Role role) {
+
+        Map<TodoBatchRequestDTO.OperationType, List<TodoBatchRequestDTO.Operation>> grouped
+                = requestDTO.getOperations().stream()
+                .collect(Collectors.groupingBy(TodoBatchRequestDTO.Operation::getType));
 
-        Todo todo = todoRepository.findById(todoId).orElseThrow(
-                () -> {
-                    log.error("id가 존재하지 않아 삭제에 실패했습니다. - ID: {}", todoId);
-                    throw new RuntimeException("id가 존재하지 않아 삭제에 실패했습니다.");
+        List<TodoBatchRequestDTO.Operation> creates = grouped.getOrDefault(TodoBatchRequestDTO.OperationType.CREATE, List.of());
+        List<TodoBatchRequestDTO.Operation> modifies = grouped.getOrDefault(TodoBatchRequestDTO.OperationType.MODIFY, List.of());
+        List<TodoBatchRequestDTO.Operation> deletes = grouped.getOrDefault(TodoBatchRequestDTO.OperationType.DELETE, List.of());
+
+        // 1. 등록 - 제목을 모두 검사한 뒤 제한 검사는 등록할 개수만큼 한 번에 수행하고, INSERT 는 배치로 전송
+        List<Todo> created = new ArrayList<>();
+        if (!creates.isEmpty()) {
+            for (TodoBatchRequestDTO.Operation op : creates) {
+                if (op.getTitle() == null || op.getTitle().isBlank()) {
+                    throw new IllegalArgumentException("등록할 할 일의 제목이 없습니다.");
                 }
-        );
-        todoRepository.deleteById(todoId);
+            }
+            User user = getUserReference(userId);
+            reserveTodoSlots(userId, role, creates.size());
+            for (TodoBatchRequestDTO.Operation op : creates) {
+                created.add(Todo.builder().title(op.getTitle()).user(user).build());
+            }
+            created = todoRepository.saveAll(created);
+        }
 
-        return retrieve(userId);
+        // 2. 수정 - 대상을 IN 절 하나로 조회한 후 변경 감지로 UPDATE (flush 시점에 배치로 전송)
+        Map<String, Todo> modifyTargets = findOwnedTodos(modifies, userId);
+        for (TodoBatchRequestDTO.Operation op : modifies) {
+            modifyTargets.get(op.getId()).setDone(op.isDone());
+        }
+
+        // 3. 삭제 - 대상을 IN 절 하나로 조회한 후 하나의 DELETE 문으로 삭제
+        Map<String, Todo> deleteTargets = findOwnedTodos(deletes, userId);
+        if (!deleteTargets.isEmpty()) {
+            todoRepository.deleteAllInBatch(deleteTargets.values());
+            todoOwnerRepository.decreaseTodoCount(userId, deleteTargets.size());
+        }
+
+        // 목록 버전은 일괄 처리 한 번에 1 증가 (변경된 할 일이 없다면 버전을 올리거나 이벤트를 발행하지 않음)
+        boolean changed = !created.isEmpty() || !modifyTargets.isEmpty() || !deleteTargets.isEmpty();
+        if (changed) {
+            increaseTodoVersion(userId);
+        }
+        long version = getTodoVersion(userId);
+
+        List<TodoDetailResponseDTO> createdList = created.stream().map(TodoDetailResponseDTO::new).collect(Collectors.toList());
+        List<TodoDetailResponseDTO> modifiedList = modifyTargets.values().stream().map(TodoDetailResponseDTO::new).collect(Collectors.toList());
+
+        createdList.forEach(dto -> publishEvent(userId, TodoChangedEvent.Type.CREATED, dto, version));
+        modifiedList.forEach(dto -> publishEvent(userId, TodoChangedEvent.Type.UPDATED, dto, version));
+        deleteTargets.values().forEach(todo ->
+                publishEvent(userId, TodoChangedEvent.Type.DELETED, new TodoDetailResponseDTO(todo), version));
+
+        return TodoBatchResponseDTO.builder()
+                .created(createdList)
+                .modified(modifiedList)
+                .deleted(new ArrayList<>(deleteTargets.keySet()))
+                .version(version)
+                .build();
     }
 
-    public TodoListResponseDTO update(final TodoModifyRequestDTO requestDTO, final String userId) throws Exception {
-        Optional<Todo> targetEntity
-                = todoRepository.findById(requestDTO.getId());
+    // 회원의 미완료 할 일을 모두 완료 처리 (UPDATE 문 하나)
+    public TodoBulkResponseDTO completeAll(final String userId) {
+        int affected = todoRepository.completeAllByUserId(userId);
+        return toBulkResponse(userId, affected, TodoChangedEvent.Type.ALL_COMPLETED);
+    }
 
-        targetEntity.ifPresent(todo -> {
-            todo.setDone(requestDTO.isDone());
-            todoRepository.save(todo);
-        });
+    // 회원의 완료된 할 일을 모두 삭제 (DELETE 문 하나)
+    public TodoBulkResponseDTO clearCompleted(final String userId) {
+        int affected = todoRepository.deleteCompletedByUserId(userId);
+        if (affected > 0) {
+            todoOwnerRepository.decreaseTodoCount(userId, affected);
+        }
+        return toBulkResponse(userId, affected, TodoChangedEvent.Type.COMPLETED_CLEARED);
+    }
 
-        return retrieve(userId);
+    // 실제로 변경된 행이 있을 때만 목록 버전을 올리고 이벤트를 발행
+    private TodoBulkResponseDTO toBulkResponse(String userId, int affected, TodoChangedEvent.Type type) {
+        if (affected > 0) {
+            increaseTodoVersion(userId);
+        }
+        long version = getTodoVersion(userId);
+        if (affected > 0) {
+            publishEvent(userId, type, null, version);
+        }
+        return TodoBulkResponseDTO.builder()
+                .affected(affected)
+                .version(version)
+                .build();
+    }
+
+    // 작업 목록의 id 로 할 일들을 한 번에 조회하고, 본인 소유인지 검사
+    private Map<String, Todo> findOwnedTodos(List<TodoBatchRequestDTO.Operation> operations, String userId) {
+        if (operations.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        Set<String> ids = operations.stream()
+                .map(TodoBatchRequestDTO.Operation::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        ids.forEach(TodoService::validateTodoId);
+
+        Map<String, Todo> found = new LinkedHashMap<>();
+        todoRepository.findAllById(ids).forEach(todo -> found.put(todo.getTodoId(), todo));
+
+        for (String id : ids) {
+            checkOwner(found.get(id), id, userId);
+        }
+        return found;
+    }
+
+    // 할 일 하나를 조회하고, 본인 소유인지 검사
+    private Todo findOwnedTodo(String todoId, String userId) {
+        validateTodoId(todoId);
+        Todo todo = todoRepository.findById(todoId).orElse(null);
+        checkOwner(todo, todoId, userId);
+        return todo;
+    }
+
+    // id 는 BINARY(16) 으로 변환되어 조회되므로 UUID 형식이 아니면 미리 거절
+    private static void validateTodoId(String todoId) {
+        try {
+            UUID.fromString(todoId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("존재하지 않는 할 일 입니다. - ID: " + todoId);
+        }
     }
 
-    private User getUser(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new RuntimeException("회원 정보가 없습니다.")
-        );
-        return user;
+    // 다른 회원의 할 일도 존재하지 않는 것과 같은 메세지로 거절 (id 존재 여부를 알려주지 않음)
+    private static void checkOwner(Todo todo, String todoId, String userId) {
+        if (todo == null || !todo.getUser().getId().equals(userId)) {
+            log.warn("존재하지 않거나 본인 소유가 아닌 할 일 - ID: {}, userId: {}", todoId, userId);
+            throw new IllegalArgumentException("존재하지 않는 할 일 입니다. - ID: " + todoId);
+        }
+    }
+
+    // 변경된 할 일 하나와 1 증가된 목록 버전을 포장해 주는 메서드
+    // 변경 이벤트도 함께 발행 -> 트랜잭션 커밋 후 SSE 로 연결된 다른 기기에 전달
+    private TodoMutationResponseDTO toMutationResponse(Todo todo, String userId, TodoChangedEvent.Type type) {
+        increaseTodoVersion(userId);
+
+        TodoDetailResponseDTO dto = new TodoDetailResponseDTO(todo);
+        long version = getTodoVersion(userId);
+        publishEvent(userId, type, dto, version);
+
+        return TodoMutationResponseDTO.builder()
+                .todo(dto)
+                .version(version)
+                .build();
+    }
+
+    // 모든 쓰기 트랜잭션은 목록 버전을 올리면서 회원별 관리 정보 행을 잠근다.
+    // 샤드를 사용 중이라면 이 행을 잠근 상태에서 회원이 아직 이 샤드에 있는지 확인 (재배치 중이거나 옮겨졌다면 롤백 후 503)
+    private void increaseTodoVersion(String userId) {
+        todoOwnerRepository.increaseTodoVersion(userId);
+
+        Integer shard = TodoShardContext.current();
+        TodoShardDirectory directory = todoShardDirectory.getIfAvailable();
+        if (shard != null && directory != null) {
+            directory.verifyAssigned(userId, shard);
+        }
+    }
+
+    private void publishEvent(String userId, TodoChangedEvent.Type type, TodoDetailResponseDTO dto, long version) {
+        eventPublisher.publishEvent(TodoChangedEvent.builder()
+                .userId(userId)
+                .type(type)
+                .todo(dto)
+                .version(version)
+                .build());
+    }
+
+    private long getTodoVersion(String userId) {
+        Long version = todoOwnerRepository.findTodoVersion(userId);
+        return version == null ? 0L : version;
+    }
+
+    // 토큰에서 검증된 회원 id 로 프록시 객체만 생성 (SELECT 없음)
+    // 할 일 API 는 회원의 다른 정보가 필요 없으므로 조회하지 않는다. -> 캐시를 두지 않으므로 등급 변경 등으로 무효화할 것도 없음
+    private User getUserReference(String userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    // 할 일 개수를 조건부로 증가시켜서 등록 제한을 검사 (매번 COUNT 쿼리를 실행하지 않음)
+    // 권한은 토큰에 담긴 값을 사용 -> 회원 테이블이 다른 DB(샤드)에 있어도 조회할 필요가 없다.
+    private void reserveTodoSlots(String userId, Role role, int amount) {
+        todoOwnerRepository.createIfAbsent(userId);
+        int limit = (role == Role.PREMIUM || role == Role.ADMIN) ? Integer.MAX_VALUE : COMMON_TODO_LIMIT;
+        if (todoOwnerRepository.increaseTodoCount(userId, amount, limit) == 0) {
+            throw new IllegalArgumentException("일반회원은 더 이상 일정을 등록할 수 없습니다.");
+        }
     }
 
 
@@ -0,0 +1,43 @@
+package com.example.todo.todoapi.shard;
+
+// 현재 스레드에서 사용할 할 일 샤드 번호
+// null 이면 샤드가 아닌 원래 DB(회원, 샤드 배정 정보가 있는 DB)를 사용
+public final class TodoShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private TodoShardContext() {
+    }
+
+    @FunctionalInterface
+    public interface Task<E extends Exception> {
+        void run() throws E;
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // 요청 스레드가 아닌 곳(비동기 응답 등)에서 같은 샤드로 작업을 실행
+    public static <E extends Exception> void runWith(Integer shard, Task<E> task) throws E {
+        Integer previous = CURRENT.get();
+        set(shard);
+        try {
+            task.run();
+        } finally {
+            set(previous);
+        }
+    }
+}
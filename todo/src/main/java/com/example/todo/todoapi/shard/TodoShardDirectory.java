@@ -0,0 +1,151 @@
+package com.example.todo.todoapi.shard;
+
+import com.example.todo.cache.ExpiringLruCache;
+import com.example.todo.exception.ServiceBusyException;
+import com.example.todo.jpa.UuidBinaryConverter;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// 역할: 회원이 어느 샤드에 배정되어 있는지 기록하고 조회하는 객체 (원래 DB 의 tbl_todo_shard 테이블)
+// - 처음 할 일 API 를 사용하는 회원은 해시값으로 계산한 샤드에 배정
+// - 샤드 개수가 바뀌면 기존 회원은 배정된 샤드에 그대로 있고, TodoShardRebalancer 가 조금씩 옮긴다.
+// - 옮기는 중인 회원의 요청은 503 으로 잠시 후 다시 시도하게 한다.
+public class TodoShardDirectory {
+
+    static final String SCHEMA = "CREATE TABLE IF NOT EXISTS tbl_todo_shard (" +
+            " user_id BINARY(16) NOT NULL PRIMARY KEY," +
+            " shard INT NOT NULL," +
+            " moving BIT NOT NULL DEFAULT FALSE)";
+
+    private static final UuidBinaryConverter ID_CONVERTER = new UuidBinaryConverter();
+
+    private final DataSource main;
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoShardRegistry registry;
+    private final long cacheTtlMs;
+
+    // 회원 수만큼 쌓이지 않도록 최대 개수를 넘으면 오래 사용하지 않은 회원부터 밀려난다.
+    private final ExpiringLruCache<String, Entry> cache = new ExpiringLruCache<>(100_000);
+
+    private record Entry(int shard, boolean moving, long expiresAt) {
+    }
+
+    public record Assignment(String userId, int shard) {
+    }
+
+    // main: 샤드가 지정되지 않은 스레드에서 사용하면 원래 DB 로 연결되는 DataSource
+    public TodoShardDirectory(DataSource main, TodoShardRegistry registry, long cacheTtlMs) {
+        this.main = main;
+        this.jdbcTemplate = new JdbcTemplate(main);
+        this.registry = registry;
+        this.cacheTtlMs = cacheTtlMs;
+        jdbcTemplate.execute(SCHEMA);
+    }
+
+    /**
+     * 회원의 할 일이 저장된 샤드 번호를 조회 (배정 정보가 없다면 새로 배정)
+     * @throws ServiceBusyException - 다른 샤드로 옮기는 중인 경우
+     */
+    public int resolve(String userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry == null) {
+            entry = load(userId, now);
+            cache.put(userId, entry, entry.expiresAt());
+        }
+        if (entry.moving()) {
+            throw new ServiceBusyException("할 일 데이터를 옮기는 중입니다. 잠시 후 다시 시도해 주세요.", 1);
+        }
+        return entry.shard();
+    }
+
+    /**
+     * 쓰기 트랜잭션이 샤드의 회원별 관리 정보(tbl_todo_owner) 행을 잠근 뒤 호출
+     * 회원이 아직 shard 에 배정되어 있고 옮기는 중이 아닌지 캐시 없이 확인한다.
+     * TodoShardRebalancer 는 같은 행을 잠근 상태에서 마지막 복사와 배정 변경을 하므로,
+     * 이 확인을 통과한 트랜잭션은 재배치가 복사하기 전에 커밋되거나 재배치가 끝날 때까지 기다리지 않는다.
+     * @throws ServiceBusyException - 옮기는 중이거나 이미 다른 샤드로 옮겨진 경우 (트랜잭션은 롤백)
+     */
+    public void verifyAssigned(String userId, int shard) {
+        byte[] id = ID_CONVERTER.convertToDatabaseColumn(userId);
+        Entry[] found = new Entry[1];
+        // 트랜잭션에 묶인 샤드 커넥션이 아니라 원래 DB 의 커넥션을 따로 얻어서 조회하고 바로 반납
+        TodoShardContext.runWith(null, () -> {
+            try (Connection connection = main.getConnection()) {
+                found[0] = find(new JdbcTemplate(new SingleConnectionDataSource(connection, true)), id, 0);
+            } catch (SQLException e) {
+                throw new CannotGetJdbcConnectionException("샤드 배정 정보를 확인할 수 없습니다.", e);
+            }
+        });
+        Entry entry = found[0];
+        if (entry == null || entry.moving() || entry.shard() != shard) {
+            cache.remove(userId);
+            throw new ServiceBusyException("할 일 데이터를 옮기는 중입니다. 잠시 후 다시 시도해 주세요.", 1);
+        }
+    }
+
+    private Entry load(String userId, long now) {
+        byte[] id = ID_CONVERTER.convertToDatabaseColumn(userId);
+        Entry entry = find(jdbcTemplate, id, now);
+        if (entry != null) {
+            return entry;
+        }
+        int shard = registry.shardOf(userId);
+        try {
+            jdbcTemplate.update("INSERT INTO tbl_todo_shard (user_id, shard, moving) VALUES (?, ?, FALSE)", id, shard);
+            return new Entry(shard, false, now + cacheTtlMs);
+        } catch (DuplicateKeyException e) {
+            // 같은 회원의 요청이 동시에 들어와서 먼저 배정된 경우
+            return find(jdbcTemplate, id, now);
+        }
+    }
+
+    private Entry find(JdbcTemplate jdbcTemplate, byte[] id, long now) {
+        List<Entry> found = jdbcTemplate.query(
+                "SELECT shard, moving FROM tbl_todo_shard WHERE user_id = ?",
+                (rs, rowNum) -> new Entry(rs.getInt("shard"), rs.getBoolean("moving"), now + cacheTtlMs),
+                id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // user_id 순서로 after 다음부터 limit 명의 배정 정보를 조회 (이동 중인 회원 제외)
+    List<Assignment> findAssignments(String after, int limit) {
+        byte[] cursor = after == null ? new byte[16] : ID_CONVERTER.convertToDatabaseColumn(after);
+        return jdbcTemplate.query(
+                "SELECT user_id, shard FROM tbl_todo_shard WHERE moving = FALSE AND user_id > ? ORDER BY user_id LIMIT ?",
+                (rs, rowNum) -> new Assignment(
+                        ID_CONVERTER.convertToEntityAttribute(rs.getBytes("user_id")), rs.getInt("shard")),
+                cursor, limit);
+    }
+
+    // 이동 시작 표시 - 다른 작업이 먼저 표시했거나 배정이 바뀌었다면 false
+    boolean markMoving(String userId, int from) {
+        return jdbcTemplate.update(
+                "UPDATE tbl_todo_shard SET moving = TRUE WHERE user_id = ? AND shard = ? AND moving = FALSE",
+                ID_CONVERTER.convertToDatabaseColumn(userId), from) == 1;
+    }
+
+    void completeMove(String userId, int to) {
+        jdbcTemplate.update("UPDATE tbl_todo_shard SET shard = ?, moving = FALSE WHERE user_id = ?",
+                to, ID_CONVERTER.convertToDatabaseColumn(userId));
+        cache.remove(userId);
+    }
+
+    void cancelMove(String userId) {
+        jdbcTemplate.update("UPDATE tbl_todo_shard SET moving = FALSE WHERE user_id = ?",
+                ID_CONVERTER.convertToDatabaseColumn(userId));
+        cache.remove(userId);
+    }
+
+    int cancelAllMoves() {
+        cache.clear();
+        return jdbcTemplate.update("UPDATE tbl_todo_shard SET moving = FALSE WHERE moving = TRUE");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.todo.todoapi.shard;
+
+import com.example.todo.auth.TokenUserInfo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// 역할: 할 일 API 요청마다 로그인한 회원의 샤드를 찾아서 요청 스레드에 지정
+// 트랜잭션이 시작되기 전에 지정해야 요청 안의 모든 할 일 쿼리가 같은 샤드 커넥션을 사용한다.
+@RequiredArgsConstructor
+public class TodoShardInterceptor implements AsyncHandlerInterceptor {
+
+    private final TodoShardDirectory directory;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenUserInfo userInfo) {
+            TodoShardContext.set(directory.resolve(userInfo.getUserId()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TodoShardContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TodoShardContext.clear();
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.todo.todoapi.shard;
+
+import com.example.todo.jpa.UuidBinaryConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 역할: 샤드 개수가 바뀐 뒤, 해시로 계산한 샤드와 다른 곳에 배정된 회원의 할 일을 옮기는 작업
+// 한 번에 최대 batchSize 명씩 아래 순서로 옮긴다.
+// 1. 옮길 회원 모두에 이동 중 표시 (이 회원들의 할 일 요청은 503 으로 잠시 후 재시도)
+// 2. 다른 서버의 캐시가 만료되고 처리 중인 요청이 끝나도록 한 번만 대기
+// 3. 회원마다 새 샤드에 할 일과 관리 정보를 복사 (하나의 트랜잭션)
+// 4. 이전 샤드의 관리 정보 행을 잠그고(SELECT ... FOR UPDATE) 복사 후 커밋된 변경이 있다면 다시 복사
+//    -> 배정 정보 변경 -> 이전 샤드에서 삭제 -> 커밋
+// 대기 시간만으로는 이동 표시 전에 샤드를 찾은 느린 쓰기 트랜잭션을 막을 수 없으므로 행 잠금으로 순서를 정한다.
+// 쓰기 트랜잭션은 같은 행을 갱신(목록 버전 증가)한 뒤 배정 정보를 다시 확인하므로(TodoShardDirectory.verifyAssigned)
+// 4 보다 먼저 커밋된 변경은 다시 복사되고, 그 이후의 변경은 이동 중 또는 다른 샤드로 확인되어 롤백된다.
+// 대기 시간이 길기 때문에 스프링의 공용 스케줄러 스레드가 아닌 전용 스레드에서 실행한다.
+// (공용 스케줄러를 막으면 토큰 폐기 목록 동기화 같은 다른 주기 작업이 밀린다.)
+// 샤드 개수는 서버를 다시 시작해야 바뀌므로, 한 번 모든 회원이 제자리에 있음을 확인하면 더 이상 검사하지 않는다.
+@Slf4j
+public class TodoShardRebalancer {
+
+    private static final UuidBinaryConverter ID_CONVERTER = new UuidBinaryConverter();
+
+    private final TodoShardRegistry registry;
+    private final TodoShardDirectory directory;
+    private final long graceMs;
+    private final int batchSize;
+
+    private volatile ScheduledExecutorService executor;
+
+    private String cursor; // 다음 검사를 시작할 회원 id
+    private boolean failedInPass; // 이번 바퀴에서 옮기지 못한 회원이 있는지
+    private boolean balanced;
+
+    private record Move(String userId, int from, int to) {
+    }
+
+    public TodoShardRebalancer(TodoShardRegistry registry, TodoShardDirectory directory,
+                               long graceMs, int batchSize) {
+        this.registry = registry;
+        this.directory = directory;
+        this.graceMs = graceMs;
+        this.batchSize = batchSize;
+
+        // 이동 도중 서버가 종료되어 이동 중 표시가 남은 회원을 복구 (재배치 작업은 서버 한 대에서만 실행)
+        int recovered = directory.cancelAllMoves();
+        if (recovered > 0) {
+            log.warn("이동 중 표시가 남아있던 회원 {}명을 이전 샤드로 복구했습니다.", recovered);
+        }
+    }
+
+    /**
+     * 전용 스레드에서 intervalMs 간격으로 재배치를 실행
+     */
+    public void start(long intervalMs) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "todo-shard-rebalancer");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                rebalance();
+            } catch (RuntimeException e) {
+                // 예외가 밖으로 나가면 이후 실행이 모두 취소되므로 여기서 기록만 한다.
+                log.error("할 일 샤드 재배치 실패", e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // rebalance() 가 대기 중일 수 있으므로 락을 잡지 않고 스레드를 인터럽트해서 종료
+    public void stop() {
+        ScheduledExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * 제자리에 있지 않은 회원을 최대 batchSize 명까지 옮긴다.
+     * @return - 옮긴 회원 수
+     */
+    public synchronized int rebalance() {
+        if (balanced) {
+            return 0;
+        }
+        List<Move> moves = new ArrayList<>();
+        boolean passEnded = markBatch(moves);
+
+        int moved = 0;
+        if (!moves.isEmpty()) {
+            try {
+                Thread.sleep(graceMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                moves.forEach(move -> directory.cancelMove(move.userId()));
+                return 0;
+            }
+            for (Move move : moves) {
+                if (copy(move)) {
+                    moved++;
+                } else {
+                    failedInPass = true;
+                }
+            }
+        }
+
+        if (passEnded) {
+            // 한 바퀴를 다 돌았음 -> 옮기지 못한 회원이 없다면 재배치 완료
+            balanced = !failedInPass;
+            failedInPass = false;
+            if (balanced) {
+                log.info("모든 회원이 배정된 샤드에 있습니다. (샤드 {}개)", registry.shardCount());
+            }
+        }
+        if (moved > 0) {
+            log.info("할 일 샤드 재배치 - {}명 이동", moved);
+        }
+        return moved;
+    }
+
+    // 제자리에 있지 않은 회원을 최대 batchSize 명까지 찾아서 이동 중으로 표시
+    // @return - 이번에 회원 목록의 끝까지 검사했는지
+    private boolean markBatch(List<Move> moves) {
+        while (moves.size() < batchSize) {
+            List<TodoShardDirectory.Assignment> page = directory.findAssignments(cursor, 500);
+            if (page.isEmpty()) {
+                cursor = null;
+                return true;
+            }
+            for (TodoShardDirectory.Assignment assignment : page) {
+                cursor = assignment.userId();
+                int target = registry.shardOf(assignment.userId());
+                if (assignment.shard() == target) continue;
+                if (directory.markMoving(assignment.userId(), assignment.shard())) {
+                    moves.add(new Move(assignment.userId(), assignment.shard(), target));
+                    if (moves.size() >= batchSize) break;
+                } else {
+                    failedInPass = true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 이동 중으로 표시하고 대기를 마친 회원 한 명의 데이터를 옮긴다.
+    private boolean copy(Move move) {
+        String userId = move.userId();
+        int from = move.from();
+        int to = move.to();
+        byte[] id = ID_CONVERTER.convertToDatabaseColumn(userId);
+        JdbcTemplate source = new JdbcTemplate(registry.shard(from));
+        try {
+            // 잠금 없이 먼저 복사 (대부분의 회원은 아래 확인에서 다시 복사할 필요가 없음)
+            Long copiedVersion = copyRows(source, to, id);
+
+            transaction(from).executeWithoutResult(status -> {
+                // 진행 중인 쓰기 트랜잭션이 끝나기를 기다리고, 이후의 쓰기는 커밋될 때까지 막음
+                List<Long> locked = source.query(
+                        "SELECT todo_version FROM tbl_todo_owner WHERE user_id = ? FOR UPDATE",
+                        (rs, rowNum) -> rs.getLong("todo_version"), (Object) id);
+                Long lockedVersion = locked.isEmpty() ? null : locked.get(0);
+                if (!Objects.equals(lockedVersion, copiedVersion)) {
+                    log.info("복사 중 변경된 할 일을 다시 복사합니다. - userId: {}, version: {} -> {}",
+                            userId, copiedVersion, lockedVersion);
+                    copyRows(source, to, id);
+                }
+                directory.completeMove(userId, to);
+                source.update("DELETE FROM tbl_todo WHERE user_id = ?", (Object) id);
+                source.update("DELETE FROM tbl_todo_owner WHERE user_id = ?", (Object) id);
+            });
+        } catch (RuntimeException e) {
+            log.error("할 일 샤드 이동 실패 - userId: {}, {} -> {}", userId, from, to, e);
+            // 배정 변경 후 이전 샤드 커밋이 실패했다면 이미 새 샤드에 모두 복사된 상태 (남은 행은 조회되지 않음)
+            directory.cancelMove(userId);
+            return false;
+        }
+        return true;
+    }
+
+    // 이전 샤드의 할 일과 관리 정보를 새 샤드에 덮어쓰기 (하나의 트랜잭션)
+    // 목록 버전을 먼저 읽으므로, 읽는 도중 커밋된 변경이 있다면 리턴한 버전이 잠근 뒤의 버전과 달라진다.
+    // @return - 복사한 관리 정보의 목록 버전 (관리 정보가 없다면 null)
+    private Long copyRows(JdbcTemplate source, int to, byte[] id) {
+        List<Object[]> owner = source.query(
+                "SELECT user_id, todo_count, todo_version FROM tbl_todo_owner WHERE user_id = ?",
+                (rs, rowNum) -> new Object[]{
+                        rs.getBytes("user_id"), rs.getInt("todo_count"), rs.getLong("todo_version")},
+                id);
+        List<Object[]> todos = source.query(
+                "SELECT todo_id, title, done, create_date, user_id FROM tbl_todo WHERE user_id = ?",
+                (rs, rowNum) -> new Object[]{
+                        rs.getBytes("todo_id"), rs.getString("title"), rs.getBoolean("done"),
+                        rs.getTimestamp("create_date"), rs.getBytes("user_id")},
+                id);
+
+        JdbcTemplate target = new JdbcTemplate(registry.shard(to));
+        transaction(to).executeWithoutResult(status -> {
+            // 이전에 실패한 이동이나 먼저 복사한 행이 있다면 먼저 정리
+            target.update("DELETE FROM tbl_todo WHERE user_id = ?", (Object) id);
+            target.update("DELETE FROM tbl_todo_owner WHERE user_id = ?", (Object) id);
+            target.batchUpdate("INSERT INTO tbl_todo (todo_id, title, done, create_date, user_id) VALUES (?, ?, ?, ?, ?)", todos);
+            target.batchUpdate("INSERT INTO tbl_todo_owner (user_id, todo_count, todo_version) VALUES (?, ?, ?)", owner);
+        });
+        return owner.isEmpty() ? null : (Long) owner.get(0)[2];
+    }
+
+    private TransactionTemplate transaction(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(registry.shard(shard)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todo.todoapi.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 역할: 할 일 샤드 DB 목록을 보관하고, 회원이 어느 샤드에 속하는지 계산하는 객체
+// - 기본 샤드는 rendezvous 해싱으로 계산: 샤드마다 (회원 id, 샤드 번호) 점수를 계산해서 가장 높은 샤드를 선택
+//   샤드를 하나 추가하면 새 샤드가 가장 높은 점수를 받은 회원(약 1/N)만 옮겨진다. (나머지 연산은 거의 모든 회원이 옮겨짐)
+//   점수는 샤드 번호로 계산하므로 새 샤드는 todo.sharding.shards 의 맨 뒤에 추가해야 한다. (중간 삭제, 순서 변경 금지)
+// - 애플리케이션의 DataSource 를 감싸서 TodoShardContext 에 설정된 샤드로 커넥션을 보낸다.
+@Slf4j
+public class TodoShardRegistry implements AutoCloseable {
+
+    // 샤드에는 할 일과 회원별 할 일 관리 정보만 저장 (회원 테이블은 원래 DB 에만 있음)
+    static final String[] SHARD_SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS tbl_todo (" +
+                    " todo_id BINARY(16) NOT NULL PRIMARY KEY," +
+                    " title VARCHAR(30) NOT NULL," +
+                    " done BIT NOT NULL," +
+                    " create_date DATETIME(6)," +
+                    " user_id BINARY(16)," +
+                    " INDEX idx_todo_user_create_date_id (user_id, create_date, todo_id))",
+            "CREATE TABLE IF NOT EXISTS tbl_todo_owner (" +
+                    " user_id BINARY(16) NOT NULL PRIMARY KEY," +
+                    " todo_count INT NOT NULL DEFAULT 0," +
+                    " todo_version BIGINT NOT NULL DEFAULT 0)"
+    };
+
+    private final List<DataSource> shards;
+
+    public TodoShardRegistry(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("todo.sharding.shards 에 샤드 DB 를 1개 이상 등록해야 합니다.");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    // String.hashCode 는 JVM 과 관계없이 항상 같은 값이므로 서버가 여러 대여도 같은 샤드를 계산
+    public int shardOf(String userId) {
+        long key = userId.hashCode();
+        int best = 0;
+        long bestScore = Long.MIN_VALUE;
+        for (int i = 0; i < shards.size(); i++) {
+            long score = mix(key ^ (0x9E3779B97F4A7C15L * (i + 1)));
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // 입력의 비트를 고르게 섞는 SplitMix64 마무리 연산 (비슷한 id 도 샤드마다 전혀 다른 점수를 받도록)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public DataSource shard(int index) {
+        return shards.get(index);
+    }
+
+    // 샤드마다 테이블이 없다면 생성
+    public void initializeSchema() {
+        for (int i = 0; i < shards.size(); i++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(i));
+            for (String sql : SHARD_SCHEMA) {
+                jdbcTemplate.execute(sql);
+            }
+        }
+        log.info("할 일 샤드 {}개 준비 완료", shards.size());
+    }
+
+    // 원래 DataSource 를 감싸서, 샤드가 지정된 스레드의 커넥션만 해당 샤드로 보냄
+    public DataSource route(DataSource main) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TodoShardContext.current();
+            }
+        };
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(main);
+        routing.setLenientFallback(false); // 잘못된 샤드 번호가 원래 DB 로 가지 않도록
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
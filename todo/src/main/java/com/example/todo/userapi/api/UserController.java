@@ -8,6 +8,8 @@ import com.example.todo.userapi.dto.response.UserSignUpResponseDTO;
 import com.example.todo.userapi.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,7 +17,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
@@ -25,6 +26,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @Slf4j
@@ -71,7 +74,14 @@ public class UserController {
                 uploadedFilePath = userService.uploadProFileImage(profileImage);
             }
 
-            UserSignUpResponseDTO responseDTO = userService.create(dto ,uploadedFilePath);
+            UserSignUpResponseDTO responseDTO;
+            try {
+                responseDTO = userService.create(dto ,uploadedFilePath);
+            } catch (RuntimeException e) {
+                // 가입에 실패했다면 먼저 저장한 프로필 이미지의 참조를 반납
+                userService.releaseProfileImage(uploadedFilePath);
+                throw e;
+            }
             return ResponseEntity.ok().body(responseDTO);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -111,60 +121,94 @@ public class UserController {
         return ResponseEntity.ok().body(responseDTO);
     }
 
+    // 프로필 이미지 변경 요청 처리
+    // PUT: /api/auth/profile-image
+    @PutMapping("/profile-image")
+    public ResponseEntity<?> changeProfileImage(
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestPart("profileImage") MultipartFile profileImage
+    ) throws IOException {
+        log.info("/api/auth/profile-image - PUT! - user : {}", userInfo.getEmail());
+
+        userService.changeProfileImage(userInfo, profileImage);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 프로필 이미지 삭제 요청 처리
+    // DELETE: /api/auth/profile-image
+    @DeleteMapping("/profile-image")
+    public ResponseEntity<?> deleteProfileImage(
+            @AuthenticationPrincipal TokenUserInfo userInfo
+    ) throws IOException {
+        log.info("/api/auth/profile-image - DELETE! - user : {}", userInfo.getEmail());
+
+        userService.changeProfileImage(userInfo, null);
+        return ResponseEntity.noContent().build();
+    }
+
     // 프로필 사진 이미지 데이터 클라이언트에게 응답 처리
+    // 파일을 바이트 배열로 읽지 않고 Resource 로 스트리밍하며,
+    // ETag / Last-Modified 헤더를 붙여서 If-None-Match, If-Modified-Since 요청에는 304 로 응답합니다. (바디 전송 없음)
+    // Range 헤더가 있으면 요청한 구간만 206 으로 응답합니다.
+    // size 파라미터를 전달하면 해당 크기 이상의 가장 작은 썸네일로 응답 (GET: /api/auth/load-profile?size=64)
     @GetMapping("/load-profile")
     public ResponseEntity<?> loadFile(
-            @AuthenticationPrincipal TokenUserInfo userInfo
+            @AuthenticationPrincipal TokenUserInfo userInfo,
+            @RequestParam(value = "size", required = false) Integer size
     ){
-        try {
-            // 1. 프로필 사진의 경로부터 얻어야 한다
-            String profilePath = userService.findProfilePath(userInfo.getUserId());
-            log.info("profilePath : {}", profilePath);
-            // 2. 얻어낸 파일 경로를 통해 실제 파일 데이터 로드하기
-            File profileFile = new File(profilePath);
-
-            // 모든 사용자가 프로필 사진을 가지는 것은 아니다. -> 프사를 등록하지 않은 사람은 해당경로가
-            // 존재 하지 않을 것
-            // 만약 존재하지 않는 경로라면 클라이언트로 404 status 로 리턴
-            if(!profileFile.exists()){
-                // 만역 조회횐 파일 경로가 http://~~~~로 시작한다면 -> 카카오 로그인 한 사람이다.
-                // 카카오 로그인 프로필은 변환 과정 없이 바로 이미지 url 을 리턴해 주면 됨
-                if(profilePath.startsWith("http://")){
-                    return ResponseEntity.ok().body(profilePath);
-                }
-                return ResponseEntity.notFound().build();
+        // 1. 프로필 사진의 경로부터 얻어야 한다
+        String profilePath = userService.findProfilePath(userInfo.getUserId(), size);
+        log.info("profilePath : {}", profilePath);
+        // 프로필 이미지를 등록하지 않았거나 삭제한 회원
+        if (profilePath == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // 2. 얻어낸 파일 경로를 통해 실제 파일 데이터 로드하기
+        File profileFile = new File(profilePath);
+
+        // 모든 사용자가 프로필 사진을 가지는 것은 아니다. -> 프사를 등록하지 않은 사람은 해당경로가
+        // 존재 하지 않을 것
+        // 만약 존재하지 않는 경로라면 클라이언트로 404 status 로 리턴
+        if(!profileFile.exists()){
+            // 만역 조회횐 파일 경로가 http://~~~~로 시작한다면 -> 카카오 로그인 한 사람이다.
+            // 카카오 로그인 프로필은 변환 과정 없이 바로 이미지 url 을 리턴해 주면 됨
+            if(profilePath.startsWith("http://")){
+                return ResponseEntity.ok().body(profilePath);
             }
+            return ResponseEntity.notFound().build();
+        }
 
-            // 해당 경로에 저장된 파일을 바이트 배열로 직렬화 해서 리턴
-            byte[] fileData = FileCopyUtils.copyToByteArray(profileFile);
-
-            // 3. 응답 헤더에 컨텐츠 타입을 설정
-            HttpHeaders headers = new HttpHeaders();
-            MediaType contentType = findExtensionAndMediaType(profilePath);
+        // 3. 응답 헤더에 컨텐츠 타입을 설정
+        MediaType contentType = findExtensionAndMediaType(profilePath);
 
-            if(contentType == null){
-                return ResponseEntity
-                        .internalServerError().body("발견된 파일은 이미지 파일이 아닙니다.");
-            }
-
-            headers.setContentType(contentType);
+        if(contentType == null){
+            return ResponseEntity
+                    .internalServerError().body("발견된 파일은 이미지 파일이 아닙니다.");
+        }
 
-            return ResponseEntity.ok().headers(headers).body(fileData);
+        // 파일의 수정 시간과 크기로 ETag 생성 -> 파일이 바뀌지 않았다면 같은 값
+        long lastModified = profileFile.lastModified();
+        String eTag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(profileFile.length()) + "\"";
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        // 클라이언트가 보낸 조건부 요청 헤더와 비교해서 바뀌지 않았다면 스프링이 304 로 응답 (파일을 열지 않음)
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(new FileSystemResource(profileFile));
 
     }
 
+    // 카카오 서버 응답을 기다리는 동안 요청 스레드를 반납하도록 CompletableFuture 로 응답 (서블릿 비동기 처리)
     @GetMapping("/kakaologin")
-    public ResponseEntity<?> kakaoLogin(String code){
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> kakaoLogin(String code){
 
         log.info("/api/auth/kakaoLogin - GET! code : {}", code);
 
-        LoginResponseDTO responseDTO = userService.kakaoService(code);
-
-        return ResponseEntity.ok().body(responseDTO);
+        return userService.kakaoService(code)
+                .thenApply(responseDTO -> ResponseEntity.ok().body(responseDTO));
 
     }
 
@@ -0,0 +1,163 @@
+package com.example.todo.userapi.client;
+
+import com.example.todo.userapi.dto.response.KakaoUserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+// 역할: 카카오 인증 서버(kauth), API 서버(kapi)와 통신하는 객체
+// 요청마다 RestTemplate 을 새로 만들지 않고, 커넥션을 재사용(keep-alive)하는 HttpClient 하나를 공유합니다.
+// 토큰 발급과 사용자 정보 조회는 비동기(CompletableFuture)로 처리해서 요청 스레드를 붙잡지 않습니다.
+@Component
+@Slf4j
+public class KakaoApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    private final String authUri;
+    private final String apiUri;
+    private final Duration readTimeout;
+
+    private final String clientId;
+    private final String redirectUrl;
+    private final String clientSecret;
+
+    public KakaoApiClient(ObjectMapper objectMapper,
+                          @Value("${kakao.auth-uri:https://kauth.kakao.com}") String authUri,
+                          @Value("${kakao.api-uri:https://kapi.kakao.com}") String apiUri,
+                          @Value("${kakao.connect-timeout-ms:3000}") long connectTimeoutMs,
+                          @Value("${kakao.read-timeout-ms:5000}") long readTimeoutMs,
+                          @Value("${kakao.client_id}") String clientId,
+                          @Value("${kakao.redirect_url}") String redirectUrl,
+                          @Value("${kakao.client_secret}") String clientSecret) {
+        this.objectMapper = objectMapper;
+        this.authUri = authUri;
+        this.apiUri = apiUri;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.clientId = clientId;
+        this.redirectUrl = redirectUrl;
+        this.clientSecret = clientSecret;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    /**
+     * 인가 코드로 카카오 access token 을 발급 받기
+     * @param code - 프론트에서 인가 코드 요청시 전달받은 코드값
+     * @return - access token
+     */
+    public CompletableFuture<String> getAccessTokenAsync(String code) {
+
+        // 요청 바디 (파라미터 설정)
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("grant_type", "authorization_code"); // 카카오 공식 문서 기준 값으로 세팅
+        params.put("client_id", clientId); // 카카오 디벨로퍼 REST API 키
+        params.put("redirect_uri", redirectUrl); // 카카오 디벨로퍼 등록된 redirect uri
+        params.put("code", code);
+        params.put("client_secret", clientSecret); // 카카오 디벨로퍼 client secret(활성화 시 추가해 줘야 함)
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(authUri + "/oauth/token"))
+                .timeout(readTimeout)
+                .header("Content-type", "application/x-www-form-urlencoded;charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(toFormBody(params)))
+                .build();
+
+        return sendAsync(request)
+                .thenApply(body -> {
+                    Map<?, ?> responseData = readValue(body, Map.class);
+                    log.info("토큰 요청 응답 데이터 : {}", responseData);
+                    // 여러가지 데이터중 access_token 이라는 이름의 데이터를 리턴
+                    return (String) responseData.get("access_token");
+                });
+    }
+
+    /**
+     * access token 으로 카카오 사용자 정보를 조회
+     */
+    public CompletableFuture<KakaoUserDTO> getUserInfoAsync(String accessToken) {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUri + "/v2/user/me"))
+                .timeout(readTimeout)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Content-type", "application/x-www-form-urlencoded;charset=utf-8")
+                .GET()
+                .build();
+
+        return sendAsync(request)
+                .thenApply(body -> {
+                    KakaoUserDTO responseData = readValue(body, KakaoUserDTO.class);
+                    log.info("user profile : {}", responseData);
+                    return responseData;
+                });
+    }
+
+    /**
+     * 카카오 로그아웃 (응답을 기다려야 하므로 동기 방식)
+     * @return - 카카오 서버의 응답 바디
+     */
+    public String logout(String accessToken) {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUri + "/v1/user/logout"))
+                .timeout(readTimeout)
+                .header("Authorization", "Bearer " + accessToken)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return checkStatus(request, response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("카카오 로그아웃 요청이 중단되었습니다.", e);
+        }
+    }
+
+    private CompletableFuture<String> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> checkStatus(request, response));
+    }
+
+    private String checkStatus(HttpRequest request, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            log.warn("카카오 API 요청 실패 - {} {} : {}", request.method(), request.uri(), response.statusCode());
+            throw new RuntimeException("카카오 API 요청에 실패했습니다. - status: " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private <T> T readValue(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("카카오 API 응답을 해석할 수 없습니다.", e);
+        }
+    }
+
+    private static String toFormBody(Map<String, String> params) {
+        return params.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8)
+                        + "=" + URLEncoder.encode(e.getValue() == null ? "" : e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+}
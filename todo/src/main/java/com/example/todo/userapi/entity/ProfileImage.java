@@ -0,0 +1,32 @@
+package com.example.todo.userapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 내용 해시값으로 저장된 프로필 이미지 파일 정보
+// 같은 이미지가 여러 번 업로드 되어도 파일은 하나만 저장하고 참조 횟수만 증가시킨다.
+@Setter @Getter @ToString
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+@Table(name = "tbl_profile_image")
+public class ProfileImage {
+
+    @Id
+    @Column(length = 64)
+    private String hash; // 파일 내용의 SHA-256 해시 (16진수)
+
+    @Column(nullable = false, length = 10)
+    private String extension; // 확장자 (jpg, png ...)
+
+    @Builder.Default
+    private int refCount = 1; // 이 파일을 사용하는 회원 수
+
+    @CreationTimestamp
+    private LocalDateTime createDate;
+
+}
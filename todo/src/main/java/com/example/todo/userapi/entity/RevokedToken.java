@@ -0,0 +1,36 @@
+package com.example.todo.userapi.entity;
+
+import com.example.todo.jpa.UuidBinaryConverter;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+// 만료 전에 폐기(로그아웃, 등급 변경 등)된 액세스 토큰 목록
+// 모든 서버가 이 테이블을 주기적으로 읽어서 각자의 Bloom filter 에 반영한다.
+// 만료 시간이 지난 토큰은 어차피 서명 검사에서 걸러지므로 주기적으로 삭제한다.
+@Setter @Getter @ToString
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode
+@Builder
+@Entity
+@Table(name = "tbl_revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt")
+})
+public class RevokedToken {
+
+    @Id
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(columnDefinition = "BINARY(16)")
+    private String tokenId; // 토큰의 jti 클레임
+
+    @Column(nullable = false)
+    private Date expiresAt; // 토큰의 원래 만료 시간
+
+    // 다른 서버가 마지막 동기화 이후에 추가된 항목만 읽어갈 때 기준이 되는 시간
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+}
@@ -1,5 +1,8 @@
 package com.example.todo.userapi.entity;
 
+import com.example.todo.auth.TokenHasher;
+import com.example.todo.jpa.TimeOrderedUuid;
+import com.example.todo.jpa.UuidBinaryConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -15,9 +18,12 @@ import java.util.Date;
 @Table(name = "tbl_user")
 public class User {
 
+    // 시간순 UUID 를 BINARY(16) 으로 저장 (API 에서는 문자열 형태 그대로 사용)
+    // 기존 데이터 전환: UNHEX(REPLACE(user_id, '-', '')) 로 변환 후 tbl_todo.user_id 도 같은 방식으로 변환
     @Id
-    @Column(name = "user_id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)")
+    @TimeOrderedUuid
+    @Convert(converter = UuidBinaryConverter.class)
     private String id; // 계정명이 아니라 식별 코드
 
     @Column(nullable = false, unique = true)
@@ -40,7 +46,9 @@ public class User {
     
     private String accessToken; // 카카오 로그인시 발급 받는 accessToken 을 저장 -> 로그아웃이 필요
 
-    private String refreshToken; // 리프레쉬 토큰 값
+    // 리프레쉬 토큰 원문 대신 SHA-256 해시값을 저장 (고정 길이 + 유니크 인덱스로 토큰 조회가 인덱스 탐색 한 번으로 끝남)
+    @Column(length = TokenHasher.HASH_LENGTH, unique = true)
+    private String refreshTokenHash;
  
     private Date refreshTokenExpiryDate; // 리프레쉬 토큰 만료일
 
@@ -49,18 +57,28 @@ public class User {
         this.role = role;
     }
 
+    // 비밀번호 변경 메서드 (암호화 된 값을 전달)
+    public void changePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
     // 카카오 AccessToken 저장하는 메서드
     public void changeAccessToken(String accessToken){
         this.accessToken = accessToken;
     }
 
-    public void changeRefreshToken(String refreshToken){
-        this.refreshToken = refreshToken;
+    public void changeRefreshTokenHash(String refreshTokenHash){
+        this.refreshTokenHash = refreshTokenHash;
     }
 
     public void changeRefreshExpiryDate(Date date){
         this.refreshTokenExpiryDate = date;
     }
 
+    // 프로필 이미지 저장소 키 변경 (null 이면 삭제)
+    public void changeProfileImage(String profileImage){
+        this.profileImage = profileImage;
+    }
+
 
 }
@@ -0,0 +1,31 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.ProfileImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProfileImageRepository extends JpaRepository<ProfileImage, String> {
+
+    // 처음 저장되는 이미지라면 참조 횟수 1 로 등록하고, 이미 있다면 참조 횟수를 1 증가
+    // 같은 이미지가 동시에 처음 업로드 되어도 중복 키 에러가 나지 않도록 하나의 쿼리로 처리
+    // 리턴값: 새로 등록되었다면 1, 기존 행의 참조 횟수가 증가했다면 2 (MySQL 의 ON DUPLICATE KEY UPDATE 규칙)
+    @Modifying
+    @Query(value = "INSERT INTO tbl_profile_image (hash, extension, ref_count, create_date)" +
+            " VALUES (:hash, :extension, 1, NOW())" +
+            " ON DUPLICATE KEY UPDATE ref_count = ref_count + 1",
+            nativeQuery = true)
+    int addReference(@Param("hash") String hash, @Param("extension") String extension);
+
+    // 참조 횟수를 1 감소
+    @Modifying
+    @Query("UPDATE ProfileImage p SET p.refCount = p.refCount - 1 WHERE p.hash = :hash AND p.refCount > 0")
+    int decreaseRefCount(@Param("hash") String hash);
+
+    // 참조하는 회원이 없는 이미지 정보 삭제 (리턴값이 1 이면 파일도 삭제해도 됨)
+    @Modifying
+    @Query("DELETE FROM ProfileImage p WHERE p.hash = :hash AND p.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+}
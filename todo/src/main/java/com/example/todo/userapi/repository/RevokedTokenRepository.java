@@ -0,0 +1,38 @@
+package com.example.todo.userapi.repository;
+
+import com.example.todo.userapi.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Bloom filter 가 양성이라고 답한 토큰만 실제로 폐기되었는지 확인
+    // 방금 다른 서버에서 폐기된 토큰을 놓치지 않도록 읽기 전용 복제 DB 가 아닌 원본 DB 에서 조회한다.
+    @Transactional
+    @Query("SELECT COUNT(r) > 0 FROM RevokedToken r WHERE r.tokenId = :tokenId")
+    boolean isRevoked(@Param("tokenId") String tokenId);
+
+    // 마지막 동기화 이후에 폐기된 토큰 id 목록
+    @Transactional
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.revokedAt > :from")
+    List<String> findTokenIdsRevokedAfter(@Param("from") LocalDateTime from);
+
+    // 아직 만료되지 않은 폐기 토큰 id 목록 (Bloom filter 를 새로 만들 때 사용)
+    @Transactional
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findUnexpiredTokenIds(@Param("now") Date now);
+
+    // 만료된 토큰은 서명 검사에서 이미 걸러지므로 목록에서 제거
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+
+}
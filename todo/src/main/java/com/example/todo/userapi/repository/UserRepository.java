@@ -2,7 +2,6 @@ package com.example.todo.userapi.repository;
 
 import com.example.todo.userapi.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
@@ -14,7 +13,7 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByEmail(String email);
     
-    // 리프레시 토큰으로 사용자 정보 조회하기
-    Optional<User> findByRefreshToken(String refreshToken);
-    
+    // 리프레시 토큰의 해시값으로 사용자 정보 조회하기
+    Optional<User> findByRefreshTokenHash(String refreshTokenHash);
+
 }
@@ -0,0 +1,137 @@
+package com.example.todo.userapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 역할: 업로드된 프로필 이미지를 백그라운드에서 디코딩해서 작은 크기의 썸네일 파일들을 생성하는 객체
+// 원본 옆에 "원본파일명_s{크기}.확장자" 형태로 저장합니다.
+@Component
+@Slf4j
+public class ProfileImageProcessor {
+
+    // 생성할 썸네일 크기 (가로, 세로 중 긴 쪽 기준 px) - 오름차순
+    public static final List<Integer> VARIANT_SIZES = List.of(64, 128, 256);
+
+    private final ThreadPoolExecutor executor;
+
+    public ProfileImageProcessor(@Value("${upload.thumbnail.threads:2}") int threads,
+                                 @Value("${upload.thumbnail.queue-capacity:100}") int queueCapacity) {
+        AtomicInteger seq = new AtomicInteger();
+        // 작업 큐가 가득 차면 썸네일 생성을 건너뜀 -> 조회 시 원본으로 대체되므로 회원가입은 실패하지 않는다.
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "profile-image-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, e) -> log.warn("썸네일 작업 큐가 가득 차서 작업을 건너뜁니다."));
+    }
+
+    /**
+     * 썸네일 생성 작업을 백그라운드 큐에 등록
+     * @param original - 저장이 끝난 원본 이미지 파일
+     */
+    public void submit(File original) {
+        executor.execute(() -> createVariants(original));
+    }
+
+    /**
+     * 요청한 크기에 맞는 썸네일 파일을 찾기
+     * @param original - 원본 이미지 파일
+     * @param size - 요청한 크기 (null 이면 원본)
+     * @return - 요청한 크기 이상인 가장 작은 썸네일, 없다면(아직 생성 전이거나 더 큰 크기를 요청) 원본
+     */
+    public File resolve(File original, Integer size) {
+        if (size == null) {
+            return original;
+        }
+        for (int variantSize : VARIANT_SIZES) {
+            if (variantSize >= size) {
+                File variant = variantFile(original, variantSize);
+                return variant.exists() ? variant : original;
+            }
+        }
+        return original;
+    }
+
+    private void createVariants(File original) {
+        long start = System.currentTimeMillis();
+        try {
+            // 원본은 한 번만 디코딩
+            BufferedImage source = ImageIO.read(original);
+            if (source == null) {
+                log.warn("이미지로 읽을 수 없는 파일입니다. - {}", original.getName());
+                return;
+            }
+            String format = extension(original.getName());
+            for (int size : VARIANT_SIZES) {
+                File variant = variantFile(original, size);
+                // 임시 파일에 먼저 쓰고 이름을 바꿔서, 조회 시 쓰다 만 파일이 보이지 않게 함
+                File temp = new File(variant.getParentFile(), variant.getName() + ".tmp");
+                ImageIO.write(resize(source, size, format), format, temp);
+                if (!temp.renameTo(variant)) {
+                    temp.delete();
+                }
+            }
+            log.info("썸네일 생성 완료 - {} ({} ms)", original.getName(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.warn("썸네일 생성 실패 - {}", original.getName(), e);
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int size, String format) {
+        // 긴 쪽을 size 에 맞추고 비율 유지 (원본보다 크게 늘리지는 않음)
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // jpg 는 투명도를 지원하지 않음
+        int type = format.equals("jpg") || format.equals("jpeg")
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+
+    // abc.jpg -> abc_s64.jpg
+    public static File variantFile(File original, int size) {
+        String name = original.getName();
+        int dot = name.lastIndexOf('.');
+        String variantName = dot < 0
+                ? name + "_s" + size
+                : name.substring(0, dot) + "_s" + size + name.substring(dot);
+        return new File(original.getParentFile(), variantName);
+    }
+
+    private static String extension(String fileName) {
+        return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.example.todo.userapi.service;
+
+import com.example.todo.userapi.repository.ProfileImageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// 역할: 업로드된 프로필 이미지를 내용 해시값(SHA-256) 기준으로 저장하는 객체
+// - 같은 내용의 파일은 한 번만 저장하고 참조 횟수로 관리 (중복 제거)
+// - 한 디렉토리에 파일이 몰리지 않도록 해시 앞 글자로 하위 디렉토리를 나눠서 저장
+//   ex) 3fa4c1....jpg -> {upload.path}/3f/a4/3fa4c1....jpg
+// - 같은 해시의 저장(store)과 삭제(release)는 tbl_profile_image 행 잠금으로 순서를 정한다.
+//   두 메서드 모두 파일을 건드리기 전에 행을 먼저 갱신하므로, 트랜잭션이 끝날 때까지 상대방은 행 잠금을 기다린다.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class ProfileImageStore {
+
+    private final ProfileImageRepository profileImageRepository;
+    private final ProfileImageProcessor profileImageProcessor;
+
+    @Value("${upload.path}")
+    private String uploadRootPath;
+
+    /**
+     * 업로드 된 파일을 저장하고 저장소 키(루트 경로 기준 상대 경로)를 리턴
+     * 파일을 임시 파일로 옮겨 쓰는 동안 해시를 함께 계산하므로 파일을 두 번 읽지 않는다.
+     */
+    public String store(MultipartFile file) throws IOException {
+
+        Path root = Path.of(uploadRootPath);
+        Path tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        String hash;
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                in.transferTo(out);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+
+            String extension = extension(file.getOriginalFilename());
+            String key = toKey(hash, extension);
+
+            // 참조를 먼저 등록해서 행 잠금을 잡은 뒤 파일을 옮김
+            // -> 같은 해시를 삭제 중인 release 가 있다면 파일 삭제와 커밋이 끝날 때까지 여기서 기다린다.
+            // -> 커밋 전에는 다른 트랜잭션에 행이 보이지 않으므로, 참조가 있는 이미지는 항상 파일이 존재
+            boolean created = profileImageRepository.addReference(hash, extension) == 1;
+
+            // 이미 저장된 파일은 덮어쓰지 않음 (POSIX 의 ATOMIC_MOVE 는 기존 파일을 교체하면서 수정 시간을 바꿔
+            // 프로필 이미지 응답의 Last-Modified/ETag 캐시가 무효화된다.)
+            Path target = root.resolve(key);
+            if (Files.notExists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    log.debug("이미 존재하는 파일 - {}", key);
+                }
+            }
+
+            if (!created) {
+                log.info("이미 저장된 프로필 이미지입니다. - {}", key);
+                return key;
+            }
+
+            // 새로 저장된 이미지만 썸네일 생성
+            profileImageProcessor.submit(target.toFile());
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 저장소 키로 실제 파일 찾기
+     * @param key - store 가 리턴한 키
+     */
+    public File resolve(String key) {
+        return new File(uploadRootPath, key);
+    }
+
+    /**
+     * 회원이 더 이상 이미지를 사용하지 않을 때 호출, 참조하는 회원이 없다면 원본과 썸네일 파일을 삭제
+     * (회원 가입 실패, 프로필 이미지 변경/삭제)
+     */
+    public void release(String key) {
+        String hash = hashOf(key);
+        // 여기서 잡은 행 잠금은 파일을 삭제하고 커밋할 때까지 유지됨
+        // -> 그 사이 같은 이미지를 store 하는 요청은 addReference 에서 기다렸다가 새 행과 새 파일을 만든다.
+        if (profileImageRepository.decreaseRefCount(hash) == 0) {
+            return;
+        }
+        // 조건부 DELETE 로 참조 횟수 확인과 삭제를 한 번에 처리 (그 사이에 다른 회원이 참조를 추가하면 삭제되지 않음)
+        if (profileImageRepository.deleteIfUnreferenced(hash) == 0) {
+            return;
+        }
+        File original = resolve(key);
+        for (int size : ProfileImageProcessor.VARIANT_SIZES) {
+            ProfileImageProcessor.variantFile(original, size).delete();
+        }
+        original.delete();
+    }
+
+    // 해시 앞 4글자로 2단계 디렉토리 생성 -> 디렉토리 하나당 최대 256개의 하위 항목
+    private static String toKey(String hash, String extension) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+    }
+
+    private static String hashOf(String key) {
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+        int dot = fileName.indexOf('.');
+        return dot < 0 ? fileName : fileName.substring(0, dot);
+    }
+
+    private static String extension(String originalFileName) {
+        if (originalFileName == null || originalFileName.lastIndexOf('.') < 0) {
+            return "bin";
+        }
+        String ext = originalFileName.substring(originalFileName.lastIndexOf('.') + 1).toLowerCase();
+        // 경로 조작을 막기 위해 영문, 숫자로 된 확장자만 허용
+        return ext.matches("[a-z0-9]{1,10}") ? ext : "bin";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.example.todo.userapi.service;
 
+import com.example.todo.auth.PasswordHasher;
+import com.example.todo.auth.TokenHasher;
 import com.example.todo.auth.TokenProvider;
+import com.example.todo.auth.TokenRevocationList;
 import com.example.todo.auth.TokenUserInfo;
 import com.example.todo.exception.NoRegisteredArgumentException;
+import com.example.todo.userapi.client.KakaoApiClient;
 import com.example.todo.userapi.dto.request.LoginRequestDTO;
 import com.example.todo.userapi.dto.request.UserSignUpRequestDTO;
 import com.example.todo.userapi.dto.response.KakaoUserDTO;
@@ -13,17 +17,10 @@ import com.example.todo.userapi.entity.User;
 import com.example.todo.userapi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
@@ -31,7 +28,7 @@ import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 
 @Service
@@ -41,20 +38,14 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final TokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
 
-    @Value("${upload.path}")
-    private String uploadRootPath;
-
-    @Value("${kakao.client_id}")
-    private String KAKAO_CLIENT_ID;
-
-    @Value("${kakao.redirect_url}")
-    private String KAKAO_REDIRECT_URL;
-
-    @Value("${kakao.client_secret}")
-    private String KAKAO_CLIENT_SECRET;
+    private final KakaoApiClient kakaoApiClient;
+    private final ProfileImageProcessor profileImageProcessor;
+    private final ProfileImageStore profileImageStore;
+    private final TransactionTemplate transactionTemplate;
 
     public boolean isDuplicate(String email) {
         if (userRepository.existsByEmail(email)) {
@@ -63,6 +54,10 @@ public class UserService {
         } else return false;
     }
 
+    // 비밀번호 암호화(BCrypt)는 수십~수백 ms 가 걸리므로 트랜잭션 밖에서 실행하고,
+    // DB 작업만 짧은 트랜잭션으로 처리해서 암호화를 기다리는 동안 커넥션을 점유하지 않도록 합니다.
+    // (spring.jpa.open-in-view 가 켜져 있으면 요청이 끝날 때까지 커넥션을 계속 들고 있으므로 꺼 두어야 효과가 있음)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserSignUpResponseDTO create(
             final UserSignUpRequestDTO dto, final String uploadedFilePath) {
         String email = dto.getEmail();
@@ -71,32 +66,38 @@ public class UserService {
             throw new RuntimeException("중복된 이메일 입니다.");
         }
 
-        // 패스워드 인코딩
-        String encoded = passwordEncoder.encode(dto.getPassword());
+        // 패스워드 인코딩 (전용 스레드 풀에서 실행)
+        String encoded = passwordHasher.encode(dto.getPassword());
         dto.setPassword(encoded);
 
         // dto를 User Entity로 변환해서 저장.
-        User saved = userRepository.save(dto.toEntity(uploadedFilePath));
+        User saved = transactionTemplate.execute(
+                status -> userRepository.save(dto.toEntity(uploadedFilePath)));
         log.info("회원 가입 정상 수행됨! - saved user - {}", saved);
 
         return new UserSignUpResponseDTO(saved);
 
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponseDTO authenticate(final LoginRequestDTO dto) {
 
         // 이메일을 통해 회원 정보 조회
-        User user = userRepository.findByEmail(dto.getEmail())
-                .orElseThrow(() -> new RuntimeException("존재하지 않는 아이디 입니다."));
+        User user = transactionTemplate.execute(status -> userRepository.findByEmail(dto.getEmail())
+                .orElseThrow(() -> new RuntimeException("존재하지 않는 아이디 입니다.")));
 
-        // 패스워드 검증
+        // 패스워드 검증 (트랜잭션 밖)
         String rawPassword = dto.getPassword(); // 입력한 비번
         String encodedPassword = user.getPassword(); // DB에 저장된 암호화된 비번
 
-        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+        if (!passwordHasher.matches(rawPassword, encodedPassword)) {
             throw new RuntimeException("비밀번호가 틀렸습니다.");
         }
 
+        // BCrypt 강도 설정이 올라간 경우, 로그인에 성공한 시점에 새 강도로 다시 암호화해서 저장
+        String upgradedPassword = passwordHasher.needsUpgrade(encodedPassword)
+                ? passwordHasher.encode(rawPassword) : null;
+
         log.info("{}님 로그인 성공!", user.getUserName());
 
         // 로그인 성공 후에 클라이언트에게 뭘 리턴해 줄 것인가?
@@ -105,9 +106,18 @@ public class UserService {
 
         // 리프레시 토큰은 수명이 길다(최소 2~3주, 2~3개월도 가능)
         // 데이터 베이스에 저장해 놓고, 새로운 액세스 토큰 요청 때마다 만료일을 조회해서 비교
-        user.changeRefreshToken(token.get("refresh_token"));
-        user.changeRefreshExpiryDate(tokenProvider.getExpiryDate(token.get("refresh_token")));
-        userRepository.save(user);
+        // 토큰 원문은 저장하지 않고 해시값만 저장
+        String refreshTokenHash = TokenHasher.sha256(token.get("refresh_token"));
+        Date refreshExpiryDate = tokenProvider.getExpiryDate(token.get("refresh_token"));
+        transactionTemplate.executeWithoutResult(status -> {
+            User foundUser = userRepository.findById(user.getId()).orElseThrow();
+            if (upgradedPassword != null) {
+                foundUser.changePassword(upgradedPassword);
+                log.info("{}님의 비밀번호를 새 강도로 다시 암호화했습니다.", foundUser.getUserName());
+            }
+            foundUser.changeRefreshTokenHash(refreshTokenHash);
+            foundUser.changeRefreshExpiryDate(refreshExpiryDate);
+        });
 
         return new LoginResponseDTO(user, token);
 
@@ -130,6 +140,9 @@ public class UserService {
         // 토큰을 재발급! (새롭게 변경된 정보가 반영된)
         Map<String, String> token = getToken(user);
 
+        // 이전 등급(COMMON)이 담긴 기존 토큰은 만료 전이라도 더 이상 사용할 수 없도록 폐기
+        tokenRevocationList.revoke(userInfo.getTokenId(), userInfo.getExpiresAt());
+
         return new LoginResponseDTO(saved, token);
     }
 
@@ -153,52 +166,98 @@ public class UserService {
      * */
     public String uploadProFileImage(MultipartFile profileImage) throws IOException {
 
-        // 루트 디렉토리가 실존하는 지 확인 후 존재하는지 않으면 생성
-        File rootDir = new File(uploadRootPath);
+        // 파일 내용의 해시값으로 저장 -> 같은 이미지는 한 번만 저장됨
+        // DB 에는 저장소 키(루트 경로 기준 상대 경로)를 저장
+        return profileImageStore.store(profileImage);
 
-        if(!rootDir.exists()){
-            rootDir.mkdirs();
-        }
-
-        // 파일명을 유니크하게 변경(이름 충돌 가능성을 대비)
-        // UUID 와 원본파일을 컬럼 -> 규칙은 없음
-        String uniqueFileName
-                = UUID.randomUUID() + "_" + profileImage.getOriginalFilename();
+    }
 
-        // 파일을 저장
-        File uploadFile = new File(uploadRootPath + "/" + uniqueFileName);
-        profileImage.transferTo(uploadFile);
+    /**
+     * 저장해 둔 프로필 이미지를 더 이상 사용하지 않을 때 참조를 반납 (회원 가입 실패 등)
+     * 카카오 프로필처럼 외부 URL 로 저장된 값은 저장소에서 관리하지 않으므로 무시
+     */
+    public void releaseProfileImage(String profileImage) {
+        if (profileImage == null || profileImage.startsWith("http://") || profileImage.startsWith("https://")) {
+            return;
+        }
+        profileImageStore.release(profileImage);
+    }
 
-        return uniqueFileName;
+    /**
+     * 프로필 이미지 변경 - 새 이미지를 저장한 뒤, 회원 정보가 바뀌면 이전 이미지의 참조를 반납
+     * @param profileImage - 새로 업로드 된 파일 (null 이면 프로필 이미지 삭제)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void changeProfileImage(TokenUserInfo userInfo, MultipartFile profileImage) throws IOException {
+        String newKey = profileImage == null ? null : profileImageStore.store(profileImage);
+
+        String oldKey;
+        try {
+            oldKey = transactionTemplate.execute(status -> {
+                User user = userRepository.findById(userInfo.getUserId())
+                        .orElseThrow(() -> new NoRegisteredArgumentException("회원 조회에 실패했습니다."));
+                String previous = user.getProfileImage();
+                user.changeProfileImage(newKey);
+                return previous;
+            });
+        } catch (RuntimeException e) {
+            releaseProfileImage(newKey);
+            throw e;
+        }
 
+        // 회원 정보 변경이 커밋된 뒤에 반납 -> 롤백되었는데 파일만 지워지는 일이 없음
+        releaseProfileImage(oldKey);
     }
 
-    public String findProfilePath(String userId) {
+    /**
+     * 프로필 이미지 경로 조회
+     * @param size - 필요한 이미지 크기(px), null 이면 원본
+     * @return 요청한 크기의 썸네일 경로 (썸네일이 아직 없다면 원본 경로)
+     */
+    @Transactional(readOnly = true) // 읽기 전용 -> 복제 DB 로 라우팅
+    public String findProfilePath(String userId, Integer size) {
 
         User user
                 = userRepository.findById(userId).orElseThrow(() -> new RuntimeException());
 
         String profileImage = user.getProfileImage();
 
+        if(profileImage == null){
+            return null;
+        }
+
         if(profileImage.startsWith("http://")){
             return profileImage;
         }
 
-        // DB 에는 파일명만 저장 -> service 가 가지고 있는 Root Path 와 연결 해서 리턴
-        return uploadRootPath + "/" + user.getProfileImage();
+        // DB 에는 저장소 키만 저장 -> 저장소를 통해 실제 파일 경로를 찾아서 리턴
+        File original = profileImageStore.resolve(user.getProfileImage());
+        return profileImageProcessor.resolve(original, size).getPath();
 
     }
 
-    public LoginResponseDTO kakaoService(String code) {
+    /**
+     * 카카오 로그인 처리
+     * 토큰 발급과 사용자 정보 조회는 카카오 서버의 응답을 기다리는 동안 스레드를 점유하지 않도록 비동기로 처리하고,
+     * 응답이 모두 도착하면 DB 작업만 트랜잭션 안에서 수행합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<LoginResponseDTO> kakaoService(String code) {
+
+        // 인가 코드를 통해 토큰을 발급받기 -> 토큰을 통해 사용자 정보를 가져오기
+        return kakaoApiClient.getAccessTokenAsync(code)
+                .thenCompose(accessToken -> {
+                    log.info("token : {}", accessToken);
+                    return kakaoApiClient.getUserInfoAsync(accessToken)
+                            .thenApply(kakaoUserDTO -> transactionTemplate.execute(
+                                    status -> saveKakaoUser(kakaoUserDTO, accessToken)));
+                });
+    }
 
-        // 인가 코드를 통해 토큰을 발급받기
-        String accessToken = getKakaoAccessToken(code);
-        log.info("token : {}", accessToken);
+    private LoginResponseDTO saveKakaoUser(KakaoUserDTO kakaoUserDTO, String accessToken) {
 
-        // 토큰을 통해 사용자 정보를 가져오기
-        KakaoUserDTO kakaoUserDTO = getKakaoUserInfo(accessToken);
         log.info("kakaoUserDTO 확인 값 : {}", kakaoUserDTO);
-        
+
         // 일회성 로그인으로 처리 -> dto 를 바로 화면단에 처리
         // 회원가입 처리 -> 이메일 중복 검사 진행 -> 자체 jwt 를 생성해서 토큰을 화면단에 리턴
         // -> 화면단에선서는 적절한 url 을 선택하여 redirect 를 진행
@@ -221,92 +280,6 @@ public class UserService {
 
         return new LoginResponseDTO(foundUser, token);
 
-
-    }
-
-    private KakaoUserDTO getKakaoUserInfo(String accessToken) {
-
-        String requestURI = "https://kapi.kakao.com/v2/user/me";
-
-        HttpHeaders headers = new HttpHeaders();
-
-        headers.add("Authorization", "Bearer " + accessToken);
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<KakaoUserDTO> responseEntity
-                = restTemplate.exchange(requestURI, HttpMethod.GET,
-                new HttpEntity<>(headers), KakaoUserDTO.class);
-
-        // 응답 바디 꺼내기
-        KakaoUserDTO responseData = responseEntity.getBody();
-        log.info("user profile : {}",responseData);
-
-        return responseData;
-
-
-
-    }
-
-    // 토큰 뽑는 메서드
-    private String getKakaoAccessToken(String code) {
-
-        // 오청 uri
-        String requestURI = "https://kauth.kakao.com/oauth/token";
-
-        // 오청 헤더 생성
-        HttpHeaders headers = new HttpHeaders();
-
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        // 요청 바디 (파라미터 설정)
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("grant_type", "authorization_code"); // 카카오 공식 문서 기준 값으로 세팅
-        params.add("client_id", KAKAO_CLIENT_ID); // 카카오 디벨로퍼 REST API 키
-        params.add("redirect_uri", KAKAO_REDIRECT_URL); // 카카오 디벨로퍼 등록된 redirect uri
-        params.add("code", code); // 프론트에서 인가 코드 요청시 전달받은 코드값
-        params.add("client_secret", KAKAO_CLIENT_SECRET); // 카카오 디벨로퍼 client secret(활성화 시 추가해 줘야 함)
-
-        // 헤더와 바디 정보를 합치기 위해 HttpEntity 객체 생성
-        HttpEntity<Object> requestEntity = new HttpEntity<>(params, headers);
-
-        // 카카오 서버로 POST 통신
-        RestTemplate restTemplate = new RestTemplate();
-
-        // 통신을 보내면서 응답데이터를 리턴
-        // param1: 요청 url
-        // param2: 요청 메서드 (전송 방식)
-        // param3: 헤더와 요청 파라미터정보 엔터티
-        // param4: 응답 데이터를 받을 객체의 타입 (ex: dto, map)
-        // 만약 구조가 복잡한 경우에는 응답 데이터 타입을 String 으로 받아서
-        // JSON-simple 라이브러리로 직접 해체.
-        ResponseEntity<Map> responseEntity
-                = restTemplate.exchange(requestURI, HttpMethod.POST, requestEntity, Map.class);
-
-        /*
-        * HTTP/1.1 200 OK
-        Content-Type: application/json;charset=UTF-8
-        {
-        "token_type":"bearer",
-        "access_token":"${ACCESS_TOKEN}",
-        "expires_in":43199,
-        "refresh_token":"${REFRESH_TOKEN}",
-        "refresh_token_expires_in":5184000,
-        "scope":"account_email profile"
-        }
-        */
-
-        // 응답 데이터에서 필요한 정보를 가져 오기
-        Map<String, Object> responseData = responseEntity.getBody();
-        log.info("토큰 요청 응답 데이터 : {}", responseData);
-
-        // 여러가지 데이터중 access_token 이라는 이름의 데이터를 리턴
-        // Object 를 String 으로 형변환 해서 리턴
-        return (String)responseData.get("access_token");
-
-
-
     }
 
     // 로그아웃 메서드
@@ -314,25 +287,23 @@ public class UserService {
 
         User foundUser = userRepository.findById(userInfo.getUserId()).orElseThrow();
 
+        // 로그아웃한 액세스 토큰은 만료 전이라도 사용할 수 없도록 폐기하고, 리프레시 토큰으로도 재발급 받을 수 없게 한다.
+        tokenRevocationList.revoke(userInfo.getTokenId(), userInfo.getExpiresAt());
+        foundUser.changeRefreshTokenHash(null);
+
         String accessToken = foundUser.getAccessToken();
 
         // accessToken 이 null 이 아니라면 카카오 로그인 한 유저이다
         if(accessToken != null){
-            String reqURI = "https://kapi.kakao.com/v1/user/logout";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Authorization", "Bearer " + accessToken);
-
-            ResponseEntity<String> responseData
-                    = new RestTemplate()
-                    .exchange(reqURI, HttpMethod.POST, new HttpEntity<>(headers), String.class);
+            String responseData = kakaoApiClient.logout(accessToken);
 
             foundUser.changeAccessToken(null);
             userRepository.save(foundUser);
 
-            return responseData.getBody();
+            return responseData;
         }
-        
+
+        userRepository.save(foundUser);
         return null;
     }
 
@@ -345,7 +316,7 @@ public class UserService {
         if(isValid){
             // 토큰 값이 유효하다면 만료 일자를 검사하자
             User foundUser
-                    = userRepository.findByRefreshToken(refreshToken).orElseThrow();
+                    = userRepository.findByRefreshTokenHash(TokenHasher.sha256(refreshToken)).orElseThrow();
             if(foundUser.getRefreshTokenExpiryDate().before(new Date())){
                 // 만료일이 오늘보다 이전이 아니라면 -> 만료 되지 않았다면
                 String newAccessKey = tokenProvider.createAccessKey(foundUser);
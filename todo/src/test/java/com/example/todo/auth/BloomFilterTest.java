@@ -0,0 +1,53 @@
+package com.example.todo.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 있다고 답한다")
+    void noFalseNegative() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String id = UUID.randomUUID().toString();
+            ids.add(id);
+            filter.put(id);
+        }
+
+        ids.forEach(id -> assertTrue(filter.mightContain(id)));
+    }
+
+    @Test
+    @DisplayName("넣지 않은 값을 있다고 답하는 비율은 설정한 확률 근처로 유지된다")
+    void falsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int trials = 100_000;
+        for (int i = 0; i < trials; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < trials * 0.02, "거짓 양성: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("잘못된 설정값은 예외가 발생한다")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1.0));
+    }
+}
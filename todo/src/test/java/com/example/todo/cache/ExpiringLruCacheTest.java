@@ -0,0 +1,71 @@
+package com.example.todo.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringLruCacheTest {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    @Test
+    @DisplayName("만료된 항목은 조회되지 않는다")
+    void expired() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(100);
+        cache.put("a", "1", System.currentTimeMillis() - 1);
+        cache.put("b", "2", FAR_FUTURE);
+
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 오래 사용하지 않은 항목부터 밀려난다")
+    void boundedSize() {
+        ExpiringLruCache<Integer, Integer> cache = new ExpiringLruCache<>(1_600);
+        for (int i = 0; i < 100_000; i++) {
+            cache.put(i, i, FAR_FUTURE);
+        }
+
+        assertTrue(cache.size() <= 1_600, "size: " + cache.size());
+        // 마지막에 넣은 항목은 남아있음
+        assertEquals(99_999, cache.get(99_999));
+    }
+
+    @Test
+    @DisplayName("merge 는 만료되지 않은 기존 값이 있을 때만 합친다")
+    void merge() {
+        ExpiringLruCache<String, Long> cache = new ExpiringLruCache<>(100);
+        cache.merge("u", 5L, FAR_FUTURE, Math::max);
+        cache.merge("u", 3L, FAR_FUTURE, Math::max);
+        assertEquals(5L, cache.get("u"));
+
+        cache.put("v", 9L, System.currentTimeMillis() - 1);
+        cache.merge("v", 2L, FAR_FUTURE, Math::max);
+        assertEquals(2L, cache.get("v"));
+    }
+
+    @Test
+    @DisplayName("computeIfAbsent 는 가득 찼을 때 만료된 항목만 밀어내고, 없다면 저장하지 않는다")
+    void computeIfAbsentKeepsLiveEntries() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(16);
+        assertEquals("1", cache.computeIfAbsent("a", k -> "1", FAR_FUTURE));
+        assertEquals("1", cache.computeIfAbsent("a", k -> "2", FAR_FUTURE));
+
+        // 구역마다 하나씩만 저장할 수 있음 -> 사용 중인 항목은 밀려나지 않고 새 키는 null
+        ExpiringLruCache<Integer, Integer> full = new ExpiringLruCache<>(16);
+        int rejected = 0;
+        for (int i = 0; i < 100; i++) {
+            if (full.computeIfAbsent(i, k -> k, FAR_FUTURE) == null) {
+                rejected++;
+            }
+        }
+        assertEquals(16, full.size());
+        assertEquals(84, rejected);
+
+        // 만료된 항목은 새 값으로 교체
+        cache.put("x", "old", System.currentTimeMillis() - 1);
+        assertEquals("new", cache.computeIfAbsent("x", k -> "new", FAR_FUTURE));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todo.config;
+
+import com.example.todo.auth.TokenUserInfo;
+import com.example.todo.userapi.entity.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static com.example.todo.config.ReplicationRoutingDataSource.Target.PRIMARY;
+import static com.example.todo.config.ReplicationRoutingDataSource.Target.REPLICA;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationRoutingDataSourceTest {
+
+    private final ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(60_000);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void loginAs(String userId) {
+        TokenUserInfo userInfo = TokenUserInfo.builder()
+                .userId(userId)
+                .email(userId + "@test.com")
+                .role(Role.COMMON)
+                .build();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(userInfo, null, List.of()));
+    }
+
+    // 쓰기 트랜잭션 안에서 커넥션을 얻고 커밋
+    private void commitWriteTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals(PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제 DB, 그 외에는 원본 DB 로 보낸다")
+    void routeByReadOnly() {
+        loginAs("user-1");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(REPLICA, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals(PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("데이터를 변경한 회원은 일정 시간 동안 읽기도 원본 DB 로 보낸다")
+    void pinAfterWrite() {
+        loginAs("user-1");
+        commitWriteTransaction();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(PRIMARY, routing.determineCurrentLookupKey());
+
+        // 다른 회원은 영향을 받지 않음
+        loginAs("user-2");
+        assertEquals(REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖의 조회는 원본 DB 를 사용하지만 회원을 원본에 고정하지 않는다")
+    void noPinWithoutTransaction() {
+        loginAs("user-1");
+        assertEquals(PRIMARY, routing.determineCurrentLookupKey()); // ex) ETag 확인용 버전 조회
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(REPLICA, routing.determineCurrentLookupKey());
+        assertFalse(routing.isPinned("user-1"));
+    }
+
+    @Test
+    @DisplayName("커밋 전이나 롤백된 쓰기 트랜잭션은 회원을 원본에 고정하지 않는다")
+    void pinOnlyAfterCommit() {
+        loginAs("user-1");
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals(PRIMARY, routing.determineCurrentLookupKey());
+        assertFalse(routing.isPinned("user-1"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertFalse(routing.isPinned("user-1"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.todo.filter;
+
+import com.example.todo.config.RateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties());
+
+    @Test
+    @DisplayName("크기를 알 수 없는(chunked) 로그인 바디도 이메일 기준으로 제한한다")
+    void limitChunkedLoginByEmail() throws Exception {
+        // 기본 규칙: 같은 이메일로 5번까지 허용 (IP 는 요청마다 다르게 해서 IP 규칙에 걸리지 않도록 함)
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = signIn(chunkedLogin("{\"email\":\"a@b.com\",\"password\":\"x\"}", i));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+        }
+
+        MockHttpServletResponse response = signIn(chunkedLogin("{\"email\":\"A@b.com \",\"password\":\"x\"}", 99));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+    }
+
+    @Test
+    @DisplayName("읽은 바디는 컨트롤러에서 다시 읽을 수 있다")
+    void passCachedBody() throws Exception {
+        String json = "{\"email\":\"c@d.com\",\"password\":\"x\"}";
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(chunkedLogin(json, 1), new MockHttpServletResponse(), chain);
+
+        byte[] body = chain.getRequest().getInputStream().readAllBytes();
+        assertEquals(json, new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘는 바디는 크기 선언 여부와 상관없이 413 으로 거절한다")
+    void rejectOversizedBody() throws Exception {
+        String json = "{\"email\":\"e@f.com\",\"password\":\"" + "x".repeat(10_000) + "\"}";
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), signIn(chunkedLogin(json, 1)).getStatus());
+
+        MockHttpServletRequest declared = new MockHttpServletRequest("POST", "/api/auth/signin");
+        declared.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        declared.setContent(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), signIn(declared).getStatus());
+    }
+
+    private MockHttpServletResponse signIn(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    // Transfer-Encoding: chunked 요청처럼 Content-Length 를 알 수 없는 요청
+    private static MockHttpServletRequest chunkedLogin(String json, int client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin") {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader("Transfer-Encoding", "chunked");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        request.setRemoteAddr("10.0.0." + client);
+        return request;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.todo.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    @DisplayName("버킷 크기만큼 허용한 뒤에는 거절하고 대기 시간을 알려준다")
+    void rejectAfterCapacity() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(600, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", 5, 5));
+        }
+        long wait = limiter.tryAcquire("ip:1", 5, 5);
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toMillis(12), "wait: " + wait);
+
+        // 다른 키는 영향을 받지 않음
+        assertEquals(0, limiter.tryAcquire("ip:2", 5, 5));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 요청해도 버킷 크기를 넘겨서 허용하지 않는다")
+    void concurrentAcquire() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(600, 1000);
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> {
+                if (limiter.tryAcquire("email:a@b.com", 50, 1) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, allowed.get());
+    }
+
+    @Test
+    @DisplayName("10만 개 이상의 키를 추적할 수 있다")
+    void manyKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(600, 200_000);
+
+        for (int i = 0; i < 150_000; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:" + i, 10, 10));
+        }
+        assertEquals(150_000, limiter.size());
+    }
+
+    @Test
+    @DisplayName("추적할 수 있는 키가 가득 차면 새 키들은 공용 버킷 하나로 함께 제한된다")
+    void overflowKeysShareBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(600, 16);
+
+        int allowed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (limiter.tryAcquire("ip:" + i, 5, 1) == 0) {
+                allowed++;
+            }
+        }
+
+        // 키마다 한 번씩 요청 -> 추적 중인 키(최대 16개) 16번 + 공용 버킷 5번을 넘지 않음
+        assertTrue(limiter.size() <= 16, "size: " + limiter.size());
+        assertTrue(allowed <= 16 + 5, "allowed: " + allowed);
+    }
+
+}
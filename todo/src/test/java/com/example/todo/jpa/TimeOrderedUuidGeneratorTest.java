@@ -0,0 +1,40 @@
+package com.example.todo.jpa;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private final UuidBinaryConverter converter = new UuidBinaryConverter();
+
+    @Test
+    @DisplayName("생성된 id 는 version 7 UUID 이고 시간 순서대로 바이너리 정렬된다")
+    void timeOrdered() {
+        UUID earlier = TimeOrderedUuidGenerator.next(1_700_000_000_000L);
+        UUID later = TimeOrderedUuidGenerator.next(1_700_000_000_001L);
+
+        assertEquals(7, earlier.version());
+        assertEquals(2, earlier.variant());
+
+        byte[] a = converter.convertToDatabaseColumn(earlier.toString());
+        byte[] b = converter.convertToDatabaseColumn(later.toString());
+        assertTrue(Arrays.compareUnsigned(a, b) < 0);
+    }
+
+    @Test
+    @DisplayName("문자열 id 는 16바이트로 저장되고 원래 문자열로 복원된다")
+    void roundTrip() {
+        String id = TimeOrderedUuidGenerator.next().toString();
+
+        byte[] stored = converter.convertToDatabaseColumn(id);
+
+        assertEquals(16, stored.length);
+        assertEquals(id, converter.convertToEntityAttribute(stored));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("not-a-uuid"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.todo.todoapi.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoEventHubTest {
+
+    private TodoEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("전송이 끝나지 않는 연결이 여러 개여도 워치독이 모두 끊는다")
+    void reapStalledSubscribers() throws InterruptedException {
+        hub = new TodoEventHub(60_000, 4, 100);
+        StalledSink first = new StalledSink();
+        StalledSink second = new StalledSink();
+
+        hub.subscribe("user1", first);
+        hub.subscribe("user2", second);
+
+        // 첫 번째 연결을 끊는 동안 워치독이 멈춘다면 두 번째 연결은 끊기지 않음
+        assertTrue(first.aborted.await(5, TimeUnit.SECONDS));
+        assertTrue(second.aborted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, hub.connectionCount("user1"));
+        assertEquals(0, hub.connectionCount("user2"));
+    }
+
+    @Test
+    @DisplayName("버퍼가 넘친 연결은 이벤트를 발행한 스레드를 막지 않고 끊는다")
+    void abortOnOverflowWithoutBlocking() throws InterruptedException {
+        hub = new TodoEventHub(60_000, 1, 60_000);
+        StalledSink sink = new StalledSink();
+        hub.subscribe("user1", sink);
+        assertTrue(sink.sending.await(5, TimeUnit.SECONDS));
+
+        // 첫 번째 이벤트는 버퍼에 쌓이고, 두 번째 이벤트에서 버퍼가 넘침
+        hub.onTodoChanged(event(1));
+        hub.onTodoChanged(event(2));
+
+        assertTrue(sink.aborted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, hub.connectionCount("user1"));
+    }
+
+    private static TodoChangedEvent event(long version) {
+        return TodoChangedEvent.builder()
+                .userId("user1")
+                .type(TodoChangedEvent.Type.ALL_COMPLETED)
+                .version(version)
+                .build();
+    }
+
+    // 한 번 시작한 전송이 끝나지 않는 연결 (abort 를 호출해도 전송은 계속 막혀 있음)
+    private static class StalledSink implements TodoEventHub.EventSink {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch aborted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEmitter.SseEventBuilder event) {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void abort() {
+            aborted.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.example.todo.todoapi.search;
+
+import com.example.todo.todoapi.dto.response.TodoDetailResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoTitleIndexTest {
+
+    private static List<String> ids(List<TodoDetailResponseDTO> todos) {
+        return todos.stream().map(TodoDetailResponseDTO::getId).toList();
+    }
+
+    @Test
+    @DisplayName("한글 제목의 일부분과 여러 단어로 검색할 수 있다")
+    void searchKoreanPartial() {
+        TodoTitleIndex index = new TodoTitleIndex(0);
+        index.put(new TodoDetailResponseDTO("1", "마트에서 장보기", false));
+        index.put(new TodoDetailResponseDTO("2", "보고서 작성", false));
+        index.put(new TodoDetailResponseDTO("3", "장 보러 가기", false));
+
+        assertEquals(List.of("1"), ids(index.search("장보", 10)));
+        assertEquals(List.of("1", "2", "3"), ids(index.search("보", 10)));
+        assertEquals(List.of("1"), ids(index.search("마트 보기", 10)));
+        assertEquals(List.of(), ids(index.search("기보", 10))); // 조각은 있지만 순서가 다름
+    }
+
+    @Test
+    @DisplayName("수정과 삭제가 색인과 메모리 추정치에 반영된다")
+    void updateAndRemove() {
+        TodoTitleIndex index = new TodoTitleIndex(0);
+        index.put(new TodoDetailResponseDTO("1", "Study Java", false));
+        long bytes = index.getEstimatedBytes();
+
+        index.put(new TodoDetailResponseDTO("1", "Study Java", true));
+        assertEquals(bytes, index.getEstimatedBytes());
+        assertTrue(index.search("java", 10).get(0).isDone());
+
+        index.put(new TodoDetailResponseDTO("2", "운동", true));
+        index.removeCompleted();
+        assertEquals(0, index.size());
+        assertEquals(0, index.getEstimatedBytes());
+        assertTrue(index.search("study", 10).isEmpty());
+    }
+}
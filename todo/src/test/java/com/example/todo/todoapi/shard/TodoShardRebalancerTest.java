@@ -0,0 +1,148 @@
+package com.example.todo.todoapi.shard;
+
+import com.example.todo.exception.ServiceBusyException;
+import com.example.todo.jpa.TimeOrderedUuidGenerator;
+import com.example.todo.jpa.UuidBinaryConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 내장 H2 DB 3개 (원래 DB 1개 + 샤드 2개) 로 샤드 배정과 재배치를 검사
+class TodoShardRebalancerTest {
+
+    private final UuidBinaryConverter converter = new UuidBinaryConverter();
+
+    private DataSource main;
+    private DataSource shard0;
+    private DataSource shard1;
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+    }
+
+    @BeforeEach
+    void setUp() {
+        main = h2("main");
+        shard0 = h2("shard0");
+        shard1 = h2("shard1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (DataSource dataSource : List.of(main, shard0, shard1)) {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    // 샤드 2개일 때 index 번 샤드로 배정되는 회원 id
+    private String userOnShard(TodoShardRegistry registry, int index) {
+        while (true) {
+            String userId = TimeOrderedUuidGenerator.next().toString();
+            if (registry.shardOf(userId) == index) return userId;
+        }
+    }
+
+    private int countTodos(DataSource shard, String userId) {
+        return new JdbcTemplate(shard).queryForObject(
+                "SELECT COUNT(*) FROM tbl_todo WHERE user_id = ?", Integer.class,
+                (Object) converter.convertToDatabaseColumn(userId));
+    }
+
+    @Test
+    @DisplayName("처음 요청한 회원은 해시로 계산한 샤드에 배정된다")
+    void assignByHash() {
+        TodoShardRegistry registry = new TodoShardRegistry(List.of(shard0, shard1));
+        TodoShardDirectory directory = new TodoShardDirectory(main, registry, 60_000);
+
+        String userId = userOnShard(registry, 1);
+
+        assertEquals(1, directory.resolve(userId));
+        assertEquals(1, directory.resolve(userId)); // 두 번째는 캐시
+    }
+
+    @Test
+    @DisplayName("샤드가 늘어나면 다른 샤드에 있던 회원의 할 일과 관리 정보를 옮긴다")
+    void moveAfterShardAdded() {
+        // 샤드가 1개일 때 배정되고 할 일을 등록한 회원
+        TodoShardRegistry single = new TodoShardRegistry(List.of(shard0));
+        single.initializeSchema();
+        TodoShardDirectory before = new TodoShardDirectory(main, single, 60_000);
+
+        TodoShardRegistry registry = new TodoShardRegistry(List.of(shard0, shard1));
+        registry.initializeSchema();
+        String userId = userOnShard(registry, 1);
+        assertEquals(0, before.resolve(userId));
+
+        byte[] id = converter.convertToDatabaseColumn(userId);
+        JdbcTemplate source = new JdbcTemplate(shard0);
+        for (String title : List.of("장보기", "운동")) {
+            source.update("INSERT INTO tbl_todo (todo_id, title, done, create_date, user_id) VALUES (?, ?, FALSE, ?, ?)",
+                    converter.convertToDatabaseColumn(TimeOrderedUuidGenerator.next().toString()),
+                    title, Timestamp.valueOf(LocalDateTime.now()), id);
+        }
+        source.update("INSERT INTO tbl_todo_owner (user_id, todo_count, todo_version) VALUES (?, 2, 7)", (Object) id);
+
+        // 샤드를 2개로 늘린 뒤 재배치
+        TodoShardDirectory directory = new TodoShardDirectory(main, registry, 0);
+        TodoShardRebalancer rebalancer = new TodoShardRebalancer(registry, directory, 0, 10);
+
+        assertEquals(1, rebalancer.rebalance());
+        assertEquals(0, rebalancer.rebalance()); // 모두 제자리
+
+        assertEquals(1, directory.resolve(userId));
+        assertEquals(0, countTodos(shard0, userId));
+        assertEquals(2, countTodos(shard1, userId));
+        assertEquals(7L, new JdbcTemplate(shard1).queryForObject(
+                "SELECT todo_version FROM tbl_todo_owner WHERE user_id = ?", Long.class, (Object) id));
+    }
+
+    @Test
+    @DisplayName("옮기는 중이거나 다른 샤드로 옮겨진 회원의 쓰기 트랜잭션은 배정 확인에서 거절된다")
+    void verifyAssignedFencesMovingUser() {
+        TodoShardRegistry registry = new TodoShardRegistry(List.of(shard0, shard1));
+        TodoShardDirectory directory = new TodoShardDirectory(main, registry, 60_000);
+        String userId = userOnShard(registry, 0);
+        assertEquals(0, directory.resolve(userId));
+
+        directory.verifyAssigned(userId, 0);
+
+        // 이동 표시 후에는 캐시에 남은 배정과 상관없이 거절
+        assertTrue(directory.markMoving(userId, 0));
+        assertThrows(ServiceBusyException.class, () -> directory.verifyAssigned(userId, 0));
+
+        // 이동이 끝난 뒤 이전 샤드로 들어온 쓰기도 거절
+        directory.completeMove(userId, 1);
+        assertThrows(ServiceBusyException.class, () -> directory.verifyAssigned(userId, 0));
+        directory.verifyAssigned(userId, 1);
+    }
+
+    @Test
+    @DisplayName("샤드를 하나 추가하면 새 샤드로 배정되는 회원만 옮겨지고 나머지는 그대로다")
+    void addingShardMovesOnlyToNewShard() {
+        TodoShardRegistry two = new TodoShardRegistry(List.of(shard0, shard1));
+        TodoShardRegistry three = new TodoShardRegistry(List.of(shard0, shard1, main));
+
+        int moved = 0;
+        for (int i = 0; i < 3_000; i++) {
+            String userId = TimeOrderedUuidGenerator.next().toString();
+            int before = two.shardOf(userId);
+            int after = three.shardOf(userId);
+            if (before != after) {
+                assertEquals(2, after);
+                moved++;
+            }
+        }
+        // 약 1/3 만 이동 (나머지 연산이라면 약 2/3 가 이동)
+        assertTrue(moved > 700 && moved < 1_300, "moved: " + moved);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.todo.userapi.client;
+
+import com.example.todo.userapi.dto.response.KakaoUserDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// kauth.kakao.com, kapi.kakao.com 을 대신하는 로컬 스텁 서버로 KakaoApiClient 를 검사
+class KakaoApiClientTest {
+
+    HttpServer stubServer;
+
+    // 스텁 서버가 응답하기 전에 지연시킬 시간 (ms)
+    volatile long latencyMs = 0;
+
+    KakaoApiClient client;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.setExecutor(Executors.newCachedThreadPool());
+        stubServer.createContext("/oauth/token", exchange ->
+                respond(exchange, 200, "{\"token_type\":\"bearer\",\"access_token\":\"stub-access-token\"}"));
+        stubServer.createContext("/v2/user/me", exchange -> {
+            if (!"Bearer stub-access-token".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                respond(exchange, 401, "{}");
+                return;
+            }
+            respond(exchange, 200, "{\"id\":1,\"kakao_account\":{\"email\":\"stub@kakao.com\","
+                    + "\"profile\":{\"nickname\":\"스텁\",\"profile_image_url\":\"http://img.kakao.com/stub.jpg\"}}}");
+        });
+        stubServer.createContext("/v1/user/logout", exchange -> respond(exchange, 200, "{\"id\":1}"));
+        stubServer.start();
+
+        String baseUri = "http://localhost:" + stubServer.getAddress().getPort();
+        client = new KakaoApiClient(new ObjectMapper().findAndRegisterModules(),
+                baseUri, baseUri, 1000, 300,
+                "client-id", "http://localhost:3000/oauth/redirected/kakao", "client-secret");
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("인가 코드로 토큰을 발급받고 사용자 정보를 비동기로 조회한다")
+    void kakaoLoginFlow() {
+        KakaoUserDTO userDTO = client.getAccessTokenAsync("code")
+                .thenCompose(client::getUserInfoAsync)
+                .join();
+
+        assertEquals("stub@kakao.com", userDTO.getKakaoAccount().getEmail());
+        assertEquals("스텁", userDTO.getKakaoAccount().getProfile().getNickname());
+    }
+
+    @Test
+    @DisplayName("여러 요청이 동시에 들어와도 하나의 클라이언트로 처리된다")
+    void concurrentRequests() {
+        latencyMs = 100;
+
+        long start = System.nanoTime();
+        var futures = java.util.stream.IntStream.range(0, 20)
+                .mapToObj(i -> client.getAccessTokenAsync("code-" + i))
+                .toList();
+        futures.forEach(f -> assertEquals("stub-access-token", f.join()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 순차 처리였다면 20 * 100ms 이상 걸렸을 것
+        assertTrue(elapsedMs < 20 * 100, "elapsed: " + elapsedMs);
+    }
+
+    @Test
+    @DisplayName("카카오 서버 응답이 읽기 타임아웃보다 늦으면 예외가 발생한다")
+    void readTimeout() {
+        latencyMs = 1000;
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> client.getAccessTokenAsync("code").join());
+        assertInstanceOf(java.net.http.HttpTimeoutException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("로그아웃은 동기로 카카오 서버의 응답 바디를 리턴한다")
+    void logout() {
+        assertEquals("{\"id\":1}", client.logout("stub-access-token"));
+    }
+
+}